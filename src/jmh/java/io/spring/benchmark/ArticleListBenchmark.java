@@ -0,0 +1,92 @@
+package io.spring.benchmark;
+
+import io.spring.application.ArticleQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.Page;
+import io.spring.application.data.ArticleData;
+import io.spring.application.data.ArticleDataList;
+import io.spring.infrastructure.mybatis.readservice.ArticleReadService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code GET /articles} under each combination of the tag, author and favorited filters: the id
+ * query and count on their own, and the whole page through the query service.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleListBenchmark {
+  /** Active filters, separated by {@code +}. */
+  @Param({
+    "none",
+    "tag",
+    "author",
+    "favorited",
+    "tag+author",
+    "tag+favorited",
+    "author+favorited",
+    "tag+author+favorited"
+  })
+  public String filters;
+
+  private ArticleQueryService articleQueryService;
+  private ArticleReadService articleReadService;
+  private String tag;
+  private String author;
+  private String favoritedBy;
+
+  @Setup(Level.Trial)
+  public void setUp(SeededDatabase database) {
+    articleQueryService = database.getBean(ArticleQueryService.class);
+    articleReadService = database.getBean(ArticleReadService.class);
+    List<String> active = Arrays.asList(filters.split("\\+"));
+    tag = active.contains("tag") ? "tag1" : null;
+    author = active.contains("author") ? database.seededUsers.get(1).getUsername() : null;
+    favoritedBy = active.contains("favorited") ? database.seededUsers.get(0).getUsername() : null;
+  }
+
+  @Benchmark
+  public List<String> queryArticles() {
+    return articleReadService.queryArticles(tag, author, favoritedBy, new Page(0, 20));
+  }
+
+  @Benchmark
+  public int countArticle() {
+    return articleReadService.countArticle(tag, author, favoritedBy);
+  }
+
+  @Benchmark
+  public ArticleDataList findRecentArticles() {
+    return articleQueryService.findRecentArticles(tag, author, favoritedBy, new Page(0, 20), null);
+  }
+
+  @Benchmark
+  public CursorPager<ArticleData> findRecentArticlesWithCursor() {
+    return articleQueryService.findRecentArticlesWithCursor(
+        tag,
+        author,
+        favoritedBy,
+        new CursorPageParameter<DateTime>(null, 20, Direction.NEXT),
+        null);
+  }
+}
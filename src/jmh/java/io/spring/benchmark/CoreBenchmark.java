@@ -0,0 +1,61 @@
+package io.spring.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.JacksonCustomizations;
+import io.spring.core.article.Article;
+import io.spring.core.service.JwtService;
+import io.spring.core.user.User;
+import io.spring.infrastructure.service.DefaultJwtService;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Hot paths that run on every request and need no database. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoreBenchmark {
+  private JwtService jwtService;
+  private String token;
+  private ObjectMapper objectMapper;
+  private DateTime dateTime;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    jwtService =
+        new DefaultJwtService("123123123123123123123123123123123123123123123123123123123123", 3600);
+    token = jwtService.toToken(new User("email@email.com", "username", "123", "", ""));
+    objectMapper = new ObjectMapper().registerModule(new JacksonCustomizations.RealWorldModules());
+    dateTime = new DateTime();
+  }
+
+  @Benchmark
+  public String toSlug() {
+    return Article.toSlug("How to train your dragon? A 10 step guide & FAQ");
+  }
+
+  @Benchmark
+  public Optional<String> getSubFromToken() {
+    return jwtService.getSubFromToken(token);
+  }
+
+  @Benchmark
+  public String serializeDateTime() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(dateTime);
+  }
+}
@@ -0,0 +1,69 @@
+package io.spring.benchmark;
+
+import io.spring.application.ArticleQueryService;
+import io.spring.application.CommentQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.Page;
+import io.spring.application.data.ArticleData;
+import io.spring.application.data.ArticleDataList;
+import io.spring.application.data.CommentData;
+import io.spring.core.article.Article;
+import io.spring.core.user.User;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryServiceBenchmark {
+  /** Offset of the page read by {@link #findRecentArticles}, to compare shallow and deep pages. */
+  @Param({"0", "1000"})
+  public int offset;
+
+  private ArticleQueryService articleQueryService;
+  private CommentQueryService commentQueryService;
+  private User viewer;
+  private Article article;
+
+  @Setup(Level.Trial)
+  public void setUp(SeededDatabase database) {
+    articleQueryService = database.getBean(ArticleQueryService.class);
+    commentQueryService = database.getBean(CommentQueryService.class);
+    viewer = database.seededUsers.get(0);
+    article = database.seededArticles.get(database.seededArticles.size() - 1);
+  }
+
+  @Benchmark
+  public ArticleDataList findRecentArticles() {
+    return articleQueryService.findRecentArticles(null, null, null, new Page(offset, 20), viewer);
+  }
+
+  @Benchmark
+  public CursorPager<ArticleData> findUserFeedWithCursor() {
+    return articleQueryService.findUserFeedWithCursor(
+        viewer, new CursorPageParameter<DateTime>(null, 20, Direction.NEXT));
+  }
+
+  @Benchmark
+  public CursorPager<CommentData> findCommentsByArticleIdWithCursor() {
+    return commentQueryService.findByArticleIdWithCursor(
+        article.getId(), viewer, new CursorPageParameter<DateTime>(null, 20, Direction.NEXT));
+  }
+}
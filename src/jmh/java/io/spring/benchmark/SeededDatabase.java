@@ -0,0 +1,156 @@
+package io.spring.benchmark;
+
+import io.spring.RealWorldApplication;
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.comment.Comment;
+import io.spring.core.comment.CommentRepository;
+import io.spring.core.favorite.ArticleFavorite;
+import io.spring.core.favorite.ArticleFavoriteRepository;
+import io.spring.core.user.FollowRelation;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Application context backed by a SQLite file seeded with a synthetic dataset. The file is named
+ * after the dataset sizes and kept under {@code benchmark.data-dir} (default {@code
+ * build/jmh-data}), so only the first trial of a given size pays for seeding.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+  @Param("200")
+  public int users;
+
+  @Param("20")
+  public int articlesPerUser;
+
+  @Param("50")
+  public int followsPerUser;
+
+  @Param("10")
+  public int commentsPerArticle;
+
+  @Param("20")
+  public int favoritesPerUser;
+
+  public ConfigurableApplicationContext context;
+  public List<User> seededUsers;
+  public List<Article> seededArticles;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    File dataDir = new File(System.getProperty("benchmark.data-dir", "build/jmh-data"));
+    dataDir.mkdirs();
+    File file =
+        new File(
+            dataDir,
+            String.format(
+                "realworld-%d-%d-%d-%d-%d.db",
+                users,
+                articlesPerUser,
+                followsPerUser,
+                commentsPerArticle,
+                favoritesPerUser));
+    boolean seeded = file.exists();
+
+    context =
+        new SpringApplicationBuilder(RealWorldApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:sqlite:" + file.getAbsolutePath(),
+                "spring.flyway.locations=classpath:db/migration",
+                "logging.level.io.spring=WARN")
+            .run();
+
+    seededUsers = new ArrayList<>();
+    seededArticles = new ArrayList<>();
+    if (seeded) {
+      load();
+    } else {
+      context.getBean(TransactionTemplate.class).executeWithoutResult(status -> seed());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  public <T> T getBean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  private void seed() {
+    UserRepository userRepository = getBean(UserRepository.class);
+    ArticleRepository articleRepository = getBean(ArticleRepository.class);
+    CommentRepository commentRepository = getBean(CommentRepository.class);
+    ArticleFavoriteRepository favoriteRepository = getBean(ArticleFavoriteRepository.class);
+
+    for (int u = 0; u < users; u++) {
+      User user = new User("user" + u + "@example.com", "user" + u, "password", "", "");
+      userRepository.save(user);
+      seededUsers.add(user);
+    }
+    for (int u = 0; u < users; u++) {
+      for (int f = 1; f <= Math.min(followsPerUser, users - 1); f++) {
+        User target = seededUsers.get((u + f) % users);
+        userRepository.saveRelation(new FollowRelation(seededUsers.get(u).getId(), target.getId()));
+      }
+    }
+    DateTime start = new DateTime().minusDays(365);
+    for (int a = 0; a < articlesPerUser; a++) {
+      for (int u = 0; u < users; u++) {
+        User author = seededUsers.get(u);
+        Article article =
+            new Article(
+                "article " + u + " " + a,
+                "description",
+                "body",
+                Arrays.asList("tag" + (a % 10), "tag" + (u % 25)),
+                author.getId(),
+                start.plusMinutes(a * users + u));
+        articleRepository.save(article);
+        seededArticles.add(article);
+        for (int c = 0; c < commentsPerArticle; c++) {
+          User commenter = seededUsers.get((u + c + 1) % users);
+          commentRepository.save(new Comment("comment " + c, commenter.getId(), article.getId()));
+        }
+      }
+    }
+    for (int u = 0; u < users; u++) {
+      for (int f = 0; f < Math.min(favoritesPerUser, seededArticles.size()); f++) {
+        Article article = seededArticles.get((u * 7 + f * 13) % seededArticles.size());
+        favoriteRepository.save(new ArticleFavorite(article.getId(), seededUsers.get(u).getId()));
+      }
+    }
+  }
+
+  private void load() {
+    UserRepository userRepository = getBean(UserRepository.class);
+    ArticleRepository articleRepository = getBean(ArticleRepository.class);
+    for (int u = 0; u < users; u++) {
+      userRepository.findByUsername("user" + u).ifPresent(seededUsers::add);
+    }
+    for (int a = 0; a < articlesPerUser; a++) {
+      for (int u = 0; u < users; u++) {
+        articleRepository
+            .findBySlug(Article.toSlug("article " + u + " " + a))
+            .ifPresent(seededArticles::add);
+      }
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package io.spring.loadtest;
+
+import io.spring.RealWorldApplication;
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.comment.Comment;
+import io.spring.core.comment.CommentRepository;
+import io.spring.core.favorite.ArticleFavorite;
+import io.spring.core.favorite.ArticleFavoriteRepository;
+import io.spring.core.service.JwtService;
+import io.spring.core.user.FollowRelation;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The application running on a random port against a SQLite file seeded with a synthetic dataset.
+ * The file is named after the dataset sizes and kept under {@code loadtest.data-dir}, so only the
+ * first run of a given size pays for seeding.
+ */
+class Dataset implements AutoCloseable {
+  final int users;
+  final int articlesPerUser;
+  final int followsPerUser;
+  final int favoritesPerUser;
+  final int commentsPerArticle;
+
+  final List<String> usernames = new ArrayList<>();
+  final List<String> tokens = new ArrayList<>();
+  final List<String> slugs = new ArrayList<>();
+
+  private ConfigurableApplicationContext context;
+
+  Dataset(
+      int users,
+      int articlesPerUser,
+      int followsPerUser,
+      int favoritesPerUser,
+      int commentsPerArticle) {
+    this.users = users;
+    this.articlesPerUser = articlesPerUser;
+    this.followsPerUser = followsPerUser;
+    this.favoritesPerUser = favoritesPerUser;
+    this.commentsPerArticle = commentsPerArticle;
+  }
+
+  void start(File dataDir, String... properties) {
+    dataDir.mkdirs();
+    File file =
+        new File(
+            dataDir,
+            String.format(
+                "realworld-%d-%d-%d-%d-%d.db",
+                users, articlesPerUser, followsPerUser, favoritesPerUser, commentsPerArticle));
+    boolean seeded = file.exists();
+
+    List<String> all =
+        new ArrayList<>(
+            Arrays.asList(
+                "server.port=0",
+                "spring.datasource.url=jdbc:sqlite:" + file.getAbsolutePath(),
+                "spring.flyway.locations=classpath:db/migration",
+                "logging.level.io.spring=WARN"));
+    for (String property : properties) {
+      if (!property.isBlank()) {
+        all.add(property.trim());
+      }
+    }
+    context =
+        new SpringApplicationBuilder(RealWorldApplication.class)
+            .properties(all.toArray(new String[0]))
+            .run();
+
+    List<User> seededUsers =
+        seeded ? load() : context.getBean(TransactionTemplate.class).execute(status -> seed());
+    JwtService jwtService = context.getBean(JwtService.class);
+    for (User user : seededUsers) {
+      usernames.add(user.getUsername());
+      tokens.add(jwtService.toToken(user));
+    }
+  }
+
+  int port() {
+    return ((WebServerApplicationContext) context).getWebServer().getPort();
+  }
+
+  @Override
+  public void close() {
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  private List<User> seed() {
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    ArticleRepository articleRepository = context.getBean(ArticleRepository.class);
+    ArticleFavoriteRepository favoriteRepository =
+        context.getBean(ArticleFavoriteRepository.class);
+    CommentRepository commentRepository = context.getBean(CommentRepository.class);
+
+    List<User> seededUsers = new ArrayList<>();
+    for (int u = 0; u < users; u++) {
+      User user = new User("user" + u + "@example.com", "user" + u, "password", "", "");
+      userRepository.save(user);
+      seededUsers.add(user);
+    }
+    for (int u = 0; u < users; u++) {
+      for (int f = 1; f <= Math.min(followsPerUser, users - 1); f++) {
+        User target = seededUsers.get((u + f) % users);
+        userRepository.saveRelation(new FollowRelation(seededUsers.get(u).getId(), target.getId()));
+      }
+    }
+    List<Article> articles = new ArrayList<>();
+    DateTime start = new DateTime().minusDays(365);
+    for (int a = 0; a < articlesPerUser; a++) {
+      for (int u = 0; u < users; u++) {
+        Article article =
+            new Article(
+                title(u, a),
+                "description of " + title(u, a),
+                body(a),
+                Arrays.asList("tag" + (a % 10), "tag" + (u % 25)),
+                seededUsers.get(u).getId(),
+                start.plusMinutes(a * users + u));
+        articleRepository.save(article);
+        articles.add(article);
+        slugs.add(article.getSlug());
+        for (int c = 0; c < commentsPerArticle; c++) {
+          User commenter = seededUsers.get((u + c + 1) % users);
+          commentRepository.save(new Comment("comment " + c, commenter.getId(), article.getId()));
+        }
+      }
+    }
+    // Favorites lean towards the newest articles, like real traffic does.
+    for (int u = 0; u < users; u++) {
+      for (int f = 0; f < Math.min(favoritesPerUser, articles.size()); f++) {
+        Article article = articles.get(articles.size() - 1 - (u * 7 + f * 13) % articles.size());
+        favoriteRepository.save(new ArticleFavorite(article.getId(), seededUsers.get(u).getId()));
+      }
+    }
+    return seededUsers;
+  }
+
+  private List<User> load() {
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    List<User> seededUsers = new ArrayList<>();
+    for (int u = 0; u < users; u++) {
+      userRepository.findByUsername("user" + u).ifPresent(seededUsers::add);
+    }
+    for (int a = 0; a < articlesPerUser; a++) {
+      for (int u = 0; u < users; u++) {
+        slugs.add(Article.toSlug(title(u, a)));
+      }
+    }
+    return seededUsers;
+  }
+
+  private static String title(int user, int article) {
+    return "article " + user + " " + article;
+  }
+
+  /** A few paragraphs, so list payloads are the size real articles produce. */
+  private static String body(int article) {
+    StringBuilder body = new StringBuilder();
+    for (int p = 0; p < 5; p++) {
+      body.append("Paragraph ")
+          .append(p)
+          .append(" of article ")
+          .append(article)
+          .append(". Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod ")
+          .append("tempor incididunt ut labore et dolore magna aliqua.\n\n");
+    }
+    return body.toString();
+  }
+}
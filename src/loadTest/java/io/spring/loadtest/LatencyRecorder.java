@@ -0,0 +1,50 @@
+package io.spring.loadtest;
+
+import java.util.Arrays;
+
+/** Latencies of one operation on one worker thread; merged into a report once the run is over. */
+class LatencyRecorder {
+  private long[] nanos = new long[1024];
+  private int count;
+  private int errors;
+
+  void record(long latencyNanos, boolean error) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, count * 2);
+    }
+    nanos[count++] = latencyNanos;
+    if (error) {
+      errors++;
+    }
+  }
+
+  void addAll(LatencyRecorder other) {
+    if (count + other.count > nanos.length) {
+      nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+    }
+    System.arraycopy(other.nanos, 0, nanos, count, other.count);
+    count += other.count;
+    errors += other.errors;
+  }
+
+  int count() {
+    return count;
+  }
+
+  int errors() {
+    return errors;
+  }
+
+  /** Percentiles in milliseconds, by the nearest-rank method; sorts the samples in place. */
+  double[] percentilesMillis(double... percentiles) {
+    Arrays.sort(nanos, 0, count);
+    double[] result = new double[percentiles.length];
+    for (int i = 0; i < percentiles.length; i++) {
+      if (count > 0) {
+        int rank = (int) Math.ceil(percentiles[i] / 100.0 * count);
+        result[i] = nanos[Math.max(rank, 1) - 1] / 1_000_000.0;
+      }
+    }
+    return result;
+  }
+}
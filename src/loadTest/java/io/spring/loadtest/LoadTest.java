@@ -0,0 +1,155 @@
+package io.spring.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays {@link TrafficMix} against the application from a fixed number of closed-loop workers
+ * and reports throughput and p50/p99/p999 latency per operation. Run with {@code ./gradlew
+ * loadTest}; see the task in {@code build.gradle} for the dataset and run options.
+ */
+public class LoadTest {
+  private static final double[] PERCENTILES = {50, 99, 99.9};
+
+  public static void main(String[] args) throws Exception {
+    Dataset dataset =
+        new Dataset(
+            Integer.getInteger("loadtest.users", 1000),
+            Integer.getInteger("loadtest.articlesPerUser", 20),
+            Integer.getInteger("loadtest.followsPerUser", 50),
+            Integer.getInteger("loadtest.favoritesPerUser", 20),
+            Integer.getInteger("loadtest.commentsPerArticle", 10));
+    int threads = Integer.getInteger("loadtest.threads", 16);
+    long warmupMillis = Integer.getInteger("loadtest.warmupSeconds", 10) * 1000L;
+    long durationMillis = Integer.getInteger("loadtest.durationSeconds", 60) * 1000L;
+    File dataDir = new File(System.getProperty("loadtest.data-dir", "build/loadtest-data"));
+    File reportFile =
+        new File(System.getProperty("loadtest.report", "build/reports/loadtest/report.txt"));
+    String[] properties = System.getProperty("loadtest.properties", "").split(",");
+
+    try {
+      dataset.start(dataDir, properties);
+      TrafficMix mix = new TrafficMix(dataset);
+      Map<String, LatencyRecorder> results = run(mix, threads, warmupMillis, durationMillis);
+      String report = report(dataset, mix, threads, durationMillis, results);
+      System.out.print(report);
+      reportFile.getParentFile().mkdirs();
+      Files.write(reportFile.toPath(), report.getBytes(StandardCharsets.UTF_8));
+    } finally {
+      dataset.close();
+    }
+  }
+
+  private static Map<String, LatencyRecorder> run(
+      TrafficMix mix, int threads, long warmupMillis, long durationMillis) throws Exception {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    long measureFrom = System.currentTimeMillis() + warmupMillis;
+    long stopAt = measureFrom + durationMillis;
+
+    ExecutorService workers = Executors.newFixedThreadPool(threads);
+    List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      long seed = t;
+      futures.add(workers.submit(() -> work(client, mix, new Random(seed), measureFrom, stopAt)));
+    }
+    Map<String, LatencyRecorder> merged = new HashMap<>();
+    for (Future<Map<String, LatencyRecorder>> future : futures) {
+      future
+          .get()
+          .forEach(
+              (name, recorder) ->
+                  merged.computeIfAbsent(name, key -> new LatencyRecorder()).addAll(recorder));
+    }
+    workers.shutdown();
+    return merged;
+  }
+
+  private static Map<String, LatencyRecorder> work(
+      HttpClient client, TrafficMix mix, Random random, long measureFrom, long stopAt)
+      throws InterruptedException {
+    Map<String, LatencyRecorder> recorders = new HashMap<>();
+    long now;
+    while ((now = System.currentTimeMillis()) < stopAt) {
+      TrafficMix.Operation operation = mix.next(random);
+      long start = System.nanoTime();
+      boolean error;
+      try {
+        HttpResponse<Void> response =
+            client.send(operation.request.apply(random), HttpResponse.BodyHandlers.discarding());
+        error = response.statusCode() >= 400;
+      } catch (IOException e) {
+        error = true;
+      }
+      long latency = System.nanoTime() - start;
+      if (now >= measureFrom) {
+        recorders
+            .computeIfAbsent(operation.name, key -> new LatencyRecorder())
+            .record(latency, error);
+      }
+    }
+    return recorders;
+  }
+
+  private static String report(
+      Dataset dataset,
+      TrafficMix mix,
+      int threads,
+      long durationMillis,
+      Map<String, LatencyRecorder> results) {
+    StringWriter out = new StringWriter();
+    PrintWriter writer = new PrintWriter(out);
+    writer.printf(
+        "users=%d articlesPerUser=%d followsPerUser=%d favoritesPerUser=%d "
+            + "commentsPerArticle=%d threads=%d duration=%ds%n%n",
+        dataset.users,
+        dataset.articlesPerUser,
+        dataset.followsPerUser,
+        dataset.favoritesPerUser,
+        dataset.commentsPerArticle,
+        threads,
+        durationMillis / 1000);
+    writer.printf(
+        "%-32s %9s %7s %9s %9s %9s %9s%n",
+        "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+
+    Map<String, LatencyRecorder> ordered = new LinkedHashMap<>();
+    LatencyRecorder total = new LatencyRecorder();
+    for (String name : mix.names()) {
+      LatencyRecorder recorder = results.getOrDefault(name, new LatencyRecorder());
+      ordered.put(name, recorder);
+      total.addAll(recorder);
+    }
+    ordered.put("total", total);
+    double seconds = durationMillis / 1000.0;
+    for (Map.Entry<String, LatencyRecorder> entry : ordered.entrySet()) {
+      LatencyRecorder recorder = entry.getValue();
+      double[] percentiles = recorder.percentilesMillis(PERCENTILES);
+      writer.printf(
+          "%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+          entry.getKey(),
+          recorder.count(),
+          recorder.errors(),
+          recorder.count() / seconds,
+          percentiles[0],
+          percentiles[1],
+          percentiles[2]);
+    }
+    writer.flush();
+    return out.toString();
+  }
+}
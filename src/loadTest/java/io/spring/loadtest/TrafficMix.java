@@ -0,0 +1,135 @@
+package io.spring.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Weighted mix of REST and GraphQL operations, read-heavy like the RealWorld frontend: mostly list
+ * and detail pages, some feeds and profiles, and a small share of writes. Each operation picks a
+ * random seeded user and article, so requests spread over the whole dataset.
+ */
+class TrafficMix {
+  private static final String FEED_QUERY =
+      "{\"query\":\"{ feed(first: 20) { edges { node { slug title favoritesCount "
+          + "author { username following } } } } }\"}";
+  private static final String ARTICLE_QUERY =
+      "{\"query\":\"{ article(slug: \\\"%s\\\") { slug body tagList "
+          + "comments(first: 20) { edges { node { body } } } } }\"}";
+
+  private final Dataset dataset;
+  private final String baseUrl;
+  private final List<Operation> operations = new ArrayList<>();
+  private int totalWeight;
+
+  TrafficMix(Dataset dataset) {
+    this.dataset = dataset;
+    this.baseUrl = "http://localhost:" + dataset.port();
+
+    add("GET /articles", 20, random -> get("/articles", null));
+    add("GET /articles?tag", 8, random -> get("/articles?tag=tag" + random.nextInt(25), null));
+    add("GET /articles?author", 4, random -> get("/articles?author=" + username(random), null));
+    add("GET /articles/feed", 12, random -> get("/articles/feed", token(random)));
+    add("GET /articles/{slug}", 20, random -> get("/articles/" + slug(random), token(random)));
+    add(
+        "GET /articles/{slug}/comments",
+        10,
+        random -> get("/articles/" + slug(random) + "/comments", token(random)));
+    add(
+        "GET /profiles/{username}",
+        6,
+        random -> get("/profiles/" + username(random), token(random)));
+    add("GET /tags", 6, random -> get("/tags", null));
+    add("GET /articles/search", 2, random -> get("/articles/search?q=article", null));
+    add("POST graphql feed", 4, random -> post("/graphql", FEED_QUERY, token(random)));
+    add(
+        "POST graphql article",
+        4,
+        random -> post("/graphql", String.format(ARTICLE_QUERY, slug(random)), token(random)));
+    add(
+        "POST /articles/{slug}/favorite",
+        2,
+        random -> post("/articles/" + slug(random) + "/favorite", "", token(random)));
+    add(
+        "POST /articles/{slug}/comments",
+        2,
+        random ->
+            post(
+                "/articles/" + slug(random) + "/comments",
+                "{\"comment\":{\"body\":\"load test comment\"}}",
+                token(random)));
+  }
+
+  Operation next(Random random) {
+    int pick = random.nextInt(totalWeight);
+    for (Operation operation : operations) {
+      pick -= operation.weight;
+      if (pick < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  List<String> names() {
+    List<String> names = new ArrayList<>();
+    for (Operation operation : operations) {
+      names.add(operation.name);
+    }
+    return names;
+  }
+
+  private void add(String name, int weight, Function<Random, HttpRequest> request) {
+    operations.add(new Operation(name, weight, request));
+    totalWeight += weight;
+  }
+
+  private HttpRequest get(String path, String token) {
+    return builder(path, token).GET().build();
+  }
+
+  private HttpRequest post(String path, String body, String token) {
+    return builder(path, token)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private HttpRequest.Builder builder(String path, String token) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip");
+    return token == null ? builder : builder.header("Authorization", "Token " + token);
+  }
+
+  private String username(Random random) {
+    return dataset.usernames.get(random.nextInt(dataset.usernames.size()));
+  }
+
+  private String token(Random random) {
+    return dataset.tokens.get(random.nextInt(dataset.tokens.size()));
+  }
+
+  private String slug(Random random) {
+    return dataset.slugs.get(random.nextInt(dataset.slugs.size()));
+  }
+
+  static class Operation {
+    final String name;
+    final int weight;
+    final Function<Random, HttpRequest> request;
+
+    Operation(String name, int weight, Function<Random, HttpRequest> request) {
+      this.name = name;
+      this.weight = weight;
+      this.request = request;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package io.spring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.infrastructure.cluster.InvalidationBus;
+import io.spring.infrastructure.cluster.InvalidationTransport;
+import io.spring.infrastructure.cluster.LocalInvalidationTransport;
+import io.spring.infrastructure.cluster.MulticastInvalidationTransport;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts the invalidation bus between the nodes of a cluster when {@code
+ * cluster.invalidation.enabled} is set, see {@code application-prod.properties}. The transport is
+ * UDP multicast, or {@code local} to connect the nodes of a single JVM.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.invalidation.enabled", havingValue = "true")
+public class ClusterInvalidationConfig {
+
+  @Bean
+  public InvalidationTransport invalidationTransport(
+      @Value("${cluster.invalidation.transport:multicast}") String transport,
+      @Value("${cluster.invalidation.group:239.255.42.99}") String group,
+      @Value("${cluster.invalidation.port:4446}") int port,
+      @Value("${cluster.invalidation.ttl:1}") int timeToLive)
+      throws IOException {
+    if ("local".equals(transport)) {
+      return new LocalInvalidationTransport();
+    }
+    if ("multicast".equals(transport)) {
+      return new MulticastInvalidationTransport(group, port, timeToLive);
+    }
+    throw new IllegalArgumentException("Unknown cluster.invalidation.transport " + transport);
+  }
+
+  @Bean
+  public InvalidationBus invalidationBus(
+      InvalidationTransport transport,
+      ApplicationEventPublisher publisher,
+      MeterRegistry meterRegistry) {
+    return new InvalidationBus(transport, publisher, meterRegistry);
+  }
+}
@@ -0,0 +1,104 @@
+package io.spring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.core.user.User;
+import io.spring.infrastructure.datasource.ReadRoutingInterceptor;
+import io.spring.infrastructure.datasource.ReadWriteRoutingDataSource;
+import io.spring.infrastructure.datasource.ReadYourWritesWindow;
+import io.spring.infrastructure.datasource.SqliteDataSourceFactory;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Replaces the single auto-configured pool with a writer pool and a reader pool when {@code
+ * datasource.routing.enabled} is set, see {@code application-prod.properties}. Readers of the
+ * same WAL file never lag, so users are only pinned to the writer after their own writes when
+ * {@code datasource.read-your-writes-ms} is set for a reader that can.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+  @Bean
+  public SqliteDataSourceFactory sqliteDataSourceFactory(
+      @Value("${spring.datasource.url}") String url,
+      @Value("${datasource.sqlite.cache-size:-16000}") int cacheSize,
+      @Value("${datasource.sqlite.mmap-size:268435456}") long mmapSize,
+      @Value("${datasource.sqlite.busy-timeout:5000}") int busyTimeout) {
+    return new SqliteDataSourceFactory(url, cacheSize, mmapSize, busyTimeout);
+  }
+
+  @Bean
+  public HikariDataSource writerDataSource(SqliteDataSourceFactory factory) {
+    return factory.writer();
+  }
+
+  /**
+   * Parallel enrichment holds a reader per task and one for the waiting caller; reserving more than
+   * the pool has could leave every reader with a caller whose tasks wait for one.
+   */
+  @Bean
+  @DependsOn("writerDataSource")
+  public HikariDataSource readerDataSource(
+      SqliteDataSourceFactory factory,
+      @Value("${datasource.reader.pool-size:8}") int size,
+      @Value("${enrichment.parallel:false}") boolean parallelEnrichment,
+      @Value("${enrichment.max-connections:6}") int enrichmentConnections) {
+    if (parallelEnrichment && enrichmentConnections > size) {
+      throw new IllegalStateException(
+          "enrichment.max-connections ("
+              + enrichmentConnections
+              + ") must not exceed datasource.reader.pool-size ("
+              + size
+              + ")");
+    }
+    return factory.readers(size);
+  }
+
+  @Bean
+  public ReadYourWritesWindow readYourWritesWindow(
+      @Value("${datasource.read-your-writes-ms:0}") long windowMs) {
+    return new ReadYourWritesWindow(Duration.ofMillis(windowMs), 100000);
+  }
+
+  @Bean
+  public ReadRoutingInterceptor readRoutingInterceptor(ReadYourWritesWindow window) {
+    return new ReadRoutingInterceptor(window, DataSourceRoutingConfig::currentUserId);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("writerDataSource") DataSource writer,
+      @Qualifier("readerDataSource") DataSource reader,
+      ReadYourWritesWindow window,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new LazyConnectionDataSourceProxy(
+        new ReadWriteRoutingDataSource(
+            writer,
+            reader,
+            window,
+            DataSourceRoutingConfig::currentUserId,
+            meterRegistry::getIfAvailable));
+  }
+
+  private static String currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof User) {
+      return ((User) authentication.getPrincipal()).getId();
+    }
+    return null;
+  }
+}
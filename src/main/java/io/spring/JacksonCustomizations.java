@@ -4,10 +4,12 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
 import org.joda.time.DateTime;
 import org.joda.time.format.ISODateTimeFormat;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,6 +21,12 @@ public class JacksonCustomizations {
     return new RealWorldModules();
   }
 
+  /** Named filters such as {@code ArticleData.FIELDS_FILTER} pass everything by default. */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer defaultFilters() {
+    return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+  }
+
   public static class RealWorldModules extends SimpleModule {
     public RealWorldModules() {
       addSerializer(DateTime.class, new DateTimeSerializer());
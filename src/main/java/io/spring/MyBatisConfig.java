@@ -1,8 +1,20 @@
 package io.spring;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.infrastructure.mybatis.StatementMetricsInterceptor;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableTransactionManagement
-public class MyBatisConfig {}
+public class MyBatisConfig {
+
+  @Bean
+  public StatementMetricsInterceptor statementMetricsInterceptor(
+      MeterRegistry meterRegistry, @Value("${slow-query.threshold-ms:200}") long thresholdMs) {
+    return new StatementMetricsInterceptor(meterRegistry, Duration.ofMillis(thresholdMs));
+  }
+}
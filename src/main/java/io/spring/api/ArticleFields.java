@@ -0,0 +1,40 @@
+package io.spring.api;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.spring.application.data.ArticleData;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Applies the {@code fields} parameter of the article list endpoints. {@code fields=-body} leaves
+ * the body out of every article, {@code fields=slug,title,author} keeps only the listed fields.
+ */
+final class ArticleFields {
+  private ArticleFields() {}
+
+  static Object project(Object response, String fields) {
+    if (fields == null || fields.isBlank()) {
+      return response;
+    }
+    Set<String> included = new HashSet<>();
+    Set<String> excluded = new HashSet<>();
+    for (String field : fields.split(",")) {
+      String name = field.trim();
+      if (name.startsWith("-")) {
+        excluded.add(name.substring(1));
+      } else if (!name.isEmpty()) {
+        included.add(name);
+      }
+    }
+    included.removeAll(excluded);
+    SimpleBeanPropertyFilter filter =
+        included.isEmpty()
+            ? SimpleBeanPropertyFilter.serializeAllExcept(excluded)
+            : SimpleBeanPropertyFilter.filterOutAllExcept(included);
+    MappingJacksonValue value = new MappingJacksonValue(response);
+    value.setFilters(new SimpleFilterProvider().addFilter(ArticleData.FIELDS_FILTER, filter));
+    return value;
+  }
+}
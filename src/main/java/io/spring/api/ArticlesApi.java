@@ -1,14 +1,21 @@
 package io.spring.api;
 
 import io.spring.application.ArticleQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.DateTimeCursor;
 import io.spring.application.Page;
 import io.spring.application.article.ArticleCommandService;
 import io.spring.application.article.NewArticleParam;
+import io.spring.application.data.ArticleData;
 import io.spring.core.article.Article;
 import io.spring.core.user.User;
 import java.util.HashMap;
+import java.util.Map;
 import javax.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.joda.time.DateTime;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -41,8 +48,31 @@ public class ArticlesApi {
   public ResponseEntity getFeed(
       @RequestParam(value = "offset", defaultValue = "0") int offset,
       @RequestParam(value = "limit", defaultValue = "20") int limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "fields", required = false) String fields,
       @AuthenticationPrincipal User user) {
-    return ResponseEntity.ok(articleQueryService.findUserFeed(user, new Page(offset, limit)));
+    if (cursor != null) {
+      return ResponseEntity.ok(
+          ArticleFields.project(
+              cursorResponse(
+                  articleQueryService.findUserFeedWithCursor(user, cursorPage(cursor, limit))),
+              fields));
+    }
+    return ResponseEntity.ok(
+        ArticleFields.project(
+            articleQueryService.findUserFeed(user, new Page(offset, limit)), fields));
+  }
+
+  @GetMapping(path = "search")
+  public ResponseEntity searchArticles(
+      @RequestParam("q") String query,
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = "20") int limit,
+      @RequestParam(value = "fields", required = false) String fields,
+      @AuthenticationPrincipal User user) {
+    return ResponseEntity.ok(
+        ArticleFields.project(
+            articleQueryService.searchArticles(query, new Page(offset, limit), user), fields));
   }
 
   @GetMapping
@@ -52,9 +82,42 @@ public class ArticlesApi {
       @RequestParam(value = "tag", required = false) String tag,
       @RequestParam(value = "favorited", required = false) String favoritedBy,
       @RequestParam(value = "author", required = false) String author,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "fields", required = false) String fields,
       @AuthenticationPrincipal User user) {
+    if (cursor != null) {
+      return ResponseEntity.ok(
+          ArticleFields.project(
+              cursorResponse(
+                  articleQueryService.findRecentArticlesWithCursor(
+                      tag, author, favoritedBy, cursorPage(cursor, limit), user)),
+              fields));
+    }
     return ResponseEntity.ok(
-        articleQueryService.findRecentArticles(
-            tag, author, favoritedBy, new Page(offset, limit), user));
+        ArticleFields.project(
+            articleQueryService.findRecentArticles(
+                tag, author, favoritedBy, new Page(offset, limit), user),
+            fields));
+  }
+
+  /**
+   * Cursor mode is opted into by passing {@code cursor}; an empty value requests the first page,
+   * later pages pass the {@code nextCursor} of the previous response. Pages are capped like offset
+   * pages, at {@link Page#MAX_LIMIT} articles.
+   */
+  private CursorPageParameter<DateTime> cursorPage(String cursor, int limit) {
+    String value = cursor.isEmpty() ? null : cursor;
+    return new CursorPageParameter<>(
+        DateTimeCursor.parse(value),
+        DateTimeCursor.parseId(value),
+        Math.min(limit, Page.MAX_LIMIT),
+        Direction.NEXT);
+  }
+
+  private Map<String, Object> cursorResponse(CursorPager<ArticleData> pager) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("articles", pager.getData());
+    response.put("nextCursor", pager.hasNext() ? pager.getEndCursor().toString() : null);
+    return response;
   }
 }
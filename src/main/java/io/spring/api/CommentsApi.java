@@ -4,6 +4,10 @@ import com.fasterxml.jackson.annotation.JsonRootName;
 import io.spring.api.exception.NoAuthorizationException;
 import io.spring.api.exception.ResourceNotFoundException;
 import io.spring.application.CommentQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.DateTimeCursor;
 import io.spring.application.data.CommentData;
 import io.spring.core.article.Article;
 import io.spring.core.article.ArticleRepository;
@@ -12,8 +16,8 @@ import io.spring.core.comment.CommentRepository;
 import io.spring.core.service.AuthorizationService;
 import io.spring.core.user.User;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -27,12 +31,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(path = "/articles/{slug}/comments")
 @AllArgsConstructor
 public class CommentsApi {
+  private static final int MAX_LIMIT = 100;
+
   private ArticleRepository articleRepository;
   private CommentRepository commentRepository;
   private CommentQueryService commentQueryService;
@@ -50,18 +58,36 @@ public class CommentsApi {
         .body(commentResponse(commentQueryService.findById(comment.getId(), user).get()));
   }
 
+  /**
+   * Newest comments first, at most {@link #MAX_LIMIT} per page. Later pages pass the {@code
+   * nextCursor} of the previous response as {@code cursor}.
+   */
   @GetMapping
   public ResponseEntity getComments(
-      @PathVariable("slug") String slug, @AuthenticationPrincipal User user) {
+      @PathVariable("slug") String slug,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", defaultValue = "20") int limit,
+      @AuthenticationPrincipal User user,
+      WebRequest request) {
+    Optional<String> etag = commentQueryService.findETagByArticleSlug(slug, user);
+    if (etag.isPresent() && request.checkNotModified(etag.get())) {
+      return null;
+    }
     Article article =
         articleRepository.findBySlug(slug).orElseThrow(ResourceNotFoundException::new);
-    List<CommentData> comments = commentQueryService.findByArticleId(article.getId(), user);
-    return ResponseEntity.ok(
-        new HashMap<String, Object>() {
-          {
-            put("comments", comments);
-          }
-        });
+    CursorPager<CommentData> comments =
+        commentQueryService.findByArticleIdWithCursor(
+            article.getId(),
+            user,
+            new CursorPageParameter<>(
+                DateTimeCursor.parse(cursor),
+                DateTimeCursor.parseId(cursor),
+                Math.min(limit, MAX_LIMIT),
+                Direction.NEXT));
+    Map<String, Object> response = new HashMap<>();
+    response.put("comments", comments.getData());
+    response.put("nextCursor", comments.hasNext() ? comments.getEndCursor().toString() : null);
+    return ResponseEntity.ok(response);
   }
 
   @RequestMapping(path = "{id}", method = RequestMethod.DELETE)
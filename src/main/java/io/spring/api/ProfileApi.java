@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(path = "profiles/{username}")
@@ -27,7 +28,13 @@ public class ProfileApi {
 
   @GetMapping
   public ResponseEntity getProfile(
-      @PathVariable("username") String username, @AuthenticationPrincipal User user) {
+      @PathVariable("username") String username,
+      @AuthenticationPrincipal User user,
+      WebRequest request) {
+    Optional<String> etag = profileQueryService.findETagByUsername(username, user);
+    if (etag.isPresent() && request.checkNotModified(etag.get())) {
+      return null;
+    }
     return profileQueryService
         .findByUsername(username, user)
         .map(this::profileResponse)
@@ -1,11 +1,15 @@
 package io.spring.api;
 
 import io.spring.application.TagsQueryService;
+import io.spring.application.data.PopularTags;
 import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -14,13 +18,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class TagsApi {
   private TagsQueryService tagsQueryService;
 
+  /**
+   * Returns every tag, most used first, or only the {@code limit} most used ones. Responses carry an
+   * ETag and Last-Modified, so conditional requests are answered with 304 Not Modified.
+   */
   @GetMapping
-  public ResponseEntity getTags() {
-    return ResponseEntity.ok(
-        new HashMap<String, Object>() {
-          {
-            put("tags", tagsQueryService.allTags());
-          }
-        });
+  public ResponseEntity getTags(@RequestParam(value = "limit", required = false) Integer limit) {
+    PopularTags popularTags =
+        tagsQueryService.popularTags(limit == null ? Integer.MAX_VALUE : limit);
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(0, TimeUnit.SECONDS).cachePublic().mustRevalidate())
+        .eTag(popularTags.getEtag())
+        .lastModified(popularTags.getLastModified())
+        .body(
+            new HashMap<String, Object>() {
+              {
+                put("tags", popularTags.getTags());
+              }
+            });
   }
 }
@@ -0,0 +1,184 @@
+package io.spring.api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.user.UserUpdatedEvent;
+import io.spring.core.user.User;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Maps verified JWTs to the subject and user they authenticated, so repeated requests with the
+ * same token skip signature verification and the user lookup. Entries are keyed by a SHA-256
+ * digest of the token and never outlive the token's own expiration. The cached user is a snapshot
+ * and every caller gets its own copy, because the principal is updated in place before it is
+ * saved and a failed save must not leave its changes in the cache. A user loaded before an
+ * invalidation of that user is not cached.
+ */
+public class JwtAuthenticationCache {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int STRIPES = 256;
+
+  private final Cache<String, Authenticated> cache;
+  private final AtomicLong generation = new AtomicLong();
+  /** Generation of the last invalidation of any user id hashing to the stripe. */
+  private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+  private volatile long allInvalidatedAt;
+
+  public JwtAuthenticationCache(long maximumSize, Duration ttl) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new TokenExpiry(ttl.toNanos()))
+            .recordStats()
+            .build();
+  }
+
+  public Optional<User> get(String token, Function<String, Optional<User>> authenticator) {
+    String key = digest(token);
+    Authenticated cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return Optional.of(cached.getUser().copy());
+    }
+    long loadStart = generation.get();
+    Optional<User> user = authenticator.apply(token);
+    user.ifPresent(
+        loaded ->
+            cache
+                .asMap()
+                .compute(
+                    key,
+                    (k, current) ->
+                        unchangedSince(loaded.getId(), loadStart)
+                            ? new Authenticated(loaded.getId(), loaded.copy(), expiresAt(token))
+                            : current));
+    return user;
+  }
+
+  /** Publishes hit, miss and eviction counts as {@code cache.*{cache="jwt.authentication"}}. */
+  public void monitor(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "jwt.authentication");
+  }
+
+  @EventListener
+  public void onUserUpdated(UserUpdatedEvent event) {
+    invalidateUser(event.getUserId());
+  }
+
+  /** Profile updates handled by other nodes arrive through the invalidation bus. */
+  @EventListener
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isRemote() && event.getEntity() == Entity.USER) {
+      invalidateUser(event.getId());
+    }
+  }
+
+  /**
+   * Drops the user's entries. The generation bump comes first, so a lookup still loading the old
+   * user either sees it and does not cache its result, or has cached it before the removal runs.
+   */
+  public void invalidateUser(String userId) {
+    invalidatedAt.accumulateAndGet(stripe(userId), generation.incrementAndGet(), Math::max);
+    cache.asMap().values().removeIf(entry -> entry.getSubject().equals(userId));
+  }
+
+  public void invalidateAll() {
+    allInvalidatedAt = generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public long hitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long missCount() {
+    return cache.stats().missCount();
+  }
+
+  private boolean unchangedSince(String userId, long loadStart) {
+    return invalidatedAt.get(stripe(userId)) <= loadStart && allInvalidatedAt <= loadStart;
+  }
+
+  private static int stripe(String userId) {
+    return Math.floorMod(userId.hashCode(), STRIPES);
+  }
+
+  private static String digest(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder()
+          .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Reads the exp claim of a token whose signature has already been verified. Returns {@code
+   * Long.MAX_VALUE} when the claim is absent or unreadable so the configured TTL applies.
+   */
+  private static long expiresAt(String token) {
+    String[] parts = token.split("\\.");
+    if (parts.length < 2) {
+      return Long.MAX_VALUE;
+    }
+    try {
+      JsonNode exp = MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+      return exp != null && exp.canConvertToLong() ? exp.asLong() * 1000L : Long.MAX_VALUE;
+    } catch (Exception e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class Authenticated {
+    private String subject;
+    private User user;
+    private long expiresAtMillis;
+  }
+
+  @AllArgsConstructor
+  private static class TokenExpiry implements Expiry<String, Authenticated> {
+    private long ttlNanos;
+
+    @Override
+    public long expireAfterCreate(String key, Authenticated value, long currentTime) {
+      if (value.getExpiresAtMillis() == Long.MAX_VALUE) {
+        return ttlNanos;
+      }
+      long remaining =
+          Duration.ofMillis(value.getExpiresAtMillis() - System.currentTimeMillis()).toNanos();
+      return Math.max(0, Math.min(ttlNanos, remaining));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Authenticated value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, Authenticated value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
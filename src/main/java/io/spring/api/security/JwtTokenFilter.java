@@ -1,6 +1,7 @@
 package io.spring.api.security;
 
 import io.spring.core.service.JwtService;
+import io.spring.core.user.User;
 import io.spring.core.user.UserRepository;
 import java.io.IOException;
 import java.util.Collections;
@@ -19,34 +20,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtTokenFilter extends OncePerRequestFilter {
   @Autowired private UserRepository userRepository;
   @Autowired private JwtService jwtService;
+  @Autowired private JwtAuthenticationCache authenticationCache;
   private final String header = "Authorization";
 
   @Override
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
-    getTokenString(request.getHeader(header))
-        .flatMap(token -> jwtService.getSubFromToken(token))
-        .ifPresent(
-            id -> {
-              if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                userRepository
-                    .findById(id)
-                    .ifPresent(
-                        user -> {
-                          UsernamePasswordAuthenticationToken authenticationToken =
-                              new UsernamePasswordAuthenticationToken(
-                                  user, null, Collections.emptyList());
-                          authenticationToken.setDetails(
-                              new WebAuthenticationDetailsSource().buildDetails(request));
-                          SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                        });
-              }
-            });
+    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+      getTokenString(request.getHeader(header))
+          .flatMap(token -> authenticationCache.get(token, this::authenticate))
+          .ifPresent(
+              user -> {
+                UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList());
+                authenticationToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+              });
+    }
 
     filterChain.doFilter(request, response);
   }
 
+  private Optional<User> authenticate(String token) {
+    return jwtService.getSubFromToken(token).flatMap(id -> userRepository.findById(id));
+  }
+
   private Optional<String> getTokenString(String header) {
     if (header == null) {
       return Optional.empty();
@@ -2,6 +2,10 @@ package io.spring.api.security;
 
 import static java.util.Arrays.asList;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,6 +31,17 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     return new JwtTokenFilter();
   }
 
+  @Bean
+  public JwtAuthenticationCache jwtAuthenticationCache(
+      @Value("${jwt.auth-cache.maximum-size:10000}") long maximumSize,
+      @Value("${jwt.auth-cache.ttl-seconds:300}") long ttlSeconds,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    JwtAuthenticationCache cache =
+        new JwtAuthenticationCache(maximumSize, Duration.ofSeconds(ttlSeconds));
+    meterRegistry.ifAvailable(cache::monitor);
+    return cache;
+  }
+
   @Bean
   public PasswordEncoder passwordEncoder() {
     return new BCryptPasswordEncoder();
@@ -58,6 +73,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         .permitAll()
         .antMatchers(HttpMethod.GET, "/articles/**", "/profiles/**", "/tags")
         .permitAll()
+        .antMatchers(HttpMethod.GET, "/actuator/health")
+        .permitAll()
         .anyRequest()
         .authenticated();
 
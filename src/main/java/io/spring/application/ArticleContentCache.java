@@ -0,0 +1,275 @@
+package io.spring.application;
+
+import static java.util.stream.Collectors.toList;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.data.ArticleData;
+import io.spring.application.data.ProfileData;
+import io.spring.infrastructure.mybatis.readservice.ArticleReadService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The viewer-independent part of {@link ArticleData} (content, tags and author profile) held in a
+ * size-bounded cache keyed by article id, with a slug index on top. Callers get copies with the
+ * viewer flags and favorite count cleared, to be filled per request.
+ *
+ * <p>Entries are dropped on article and user {@link EntityChangedEvent}s, once right away and once
+ * more after the publishing transaction commits. A read may still have loaded the old row from a
+ * snapshot taken before that commit; every invalidation therefore bumps a generation, and a loaded
+ * article is only cached if neither it nor its author was invalidated since the read began, see
+ * {@link #beginRead}. Entries also expire {@code article.cache.ttl-seconds} after they were
+ * loaded, which bounds the staleness of anything a missed remote invalidation leaves behind. Hit,
+ * miss and eviction counts are published as {@code cache.*{cache="article.content"}} metrics.
+ */
+@Component
+public class ArticleContentCache {
+  private static final Comparator<ArticleData> NEWEST_FIRST =
+      Comparator.comparing(ArticleData::getCreatedAt)
+          .thenComparing(ArticleData::getId)
+          .reversed();
+  private static final int STRIPES = 1024;
+
+  private final ArticleReadService articleReadService;
+  private final boolean enabled;
+  private final Cache<String, ArticleData> articles;
+  private final Cache<String, String> slugs;
+
+  private final AtomicLong generation = new AtomicLong();
+  /** Generation of the last invalidation of any article id hashing to the stripe. */
+  private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+  /** Author invalidations drop entries by scanning, so they exclude puts while they run. */
+  private final ReadWriteLock authorInvalidation = new ReentrantReadWriteLock();
+  private volatile long authorInvalidatedAt;
+
+  @Autowired
+  public ArticleContentCache(
+      ArticleReadService articleReadService,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${article.cache.enabled:true}") boolean enabled,
+      @Value("${article.cache.maximum-size:10000}") long maximumSize,
+      @Value("${article.cache.ttl-seconds:300}") long ttlSeconds) {
+    this.articleReadService = articleReadService;
+    this.enabled = enabled;
+    this.articles =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    this.slugs =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    meterRegistry.ifAvailable(
+        registry -> CaffeineCacheMetrics.monitor(registry, articles, "article.content"));
+  }
+
+  /**
+   * Marks the start of a read in the current transaction: articles it loads later are cached only
+   * if nothing invalidated them since. Call before the transaction's first query, because its
+   * snapshot may predate a commit whose invalidation has already run by the time the content is
+   * loaded. Outside a transaction each load starts its own read.
+   */
+  public void beginRead() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(this, generation.get());
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ArticleContentCache.this);
+          }
+        });
+  }
+
+  public Optional<ArticleData> findById(String id) {
+    if (!enabled) {
+      return Optional.ofNullable(articleReadService.findById(id));
+    }
+    ArticleData cached = articles.getIfPresent(id);
+    if (cached != null) {
+      return Optional.of(copy(cached));
+    }
+    long readStart = readStart();
+    ArticleData loaded = articleReadService.findById(id);
+    if (loaded == null) {
+      return Optional.empty();
+    }
+    cache(loaded, readStart);
+    return Optional.of(copy(loaded));
+  }
+
+  public Optional<ArticleData> findBySlug(String slug) {
+    if (!enabled) {
+      return Optional.ofNullable(articleReadService.findBySlug(slug));
+    }
+    String id = slugs.getIfPresent(slug);
+    ArticleData cached = id == null ? null : articles.getIfPresent(id);
+    if (cached != null && cached.getSlug().equals(slug)) {
+      return Optional.of(copy(cached));
+    }
+    long readStart = readStart();
+    ArticleData loaded = articleReadService.findBySlug(slug);
+    if (loaded == null) {
+      slugs.invalidate(slug);
+      return Optional.empty();
+    }
+    cache(loaded, readStart);
+    return Optional.of(copy(loaded));
+  }
+
+  /** The articles among {@code ids} that exist, newest first like {@code findArticles}. */
+  public List<ArticleData> findArticles(List<String> ids) {
+    if (!enabled) {
+      return articleReadService.findArticles(ids);
+    }
+    Map<String, ArticleData> found = new HashMap<>(articles.getAllPresent(ids));
+    List<String> missing = ids.stream().filter(id -> !found.containsKey(id)).collect(toList());
+    if (!missing.isEmpty()) {
+      long readStart = readStart();
+      for (ArticleData loaded : articleReadService.findArticles(missing)) {
+        cache(loaded, readStart);
+        found.put(loaded.getId(), loaded);
+      }
+    }
+    return found.values().stream()
+        .map(ArticleContentCache::copy)
+        .sorted(NEWEST_FIRST)
+        .collect(toList());
+  }
+
+  @EventListener
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.getEntity() == Entity.ARTICLE) {
+      nowAndAfterCommit(() -> invalidate(event.getId()));
+    } else if (event.getEntity() == Entity.USER) {
+      nowAndAfterCommit(() -> invalidateAuthor(event.getId()));
+    }
+  }
+
+  public void invalidate(String articleId) {
+    invalidatedAt.accumulateAndGet(stripe(articleId), generation.incrementAndGet(), Math::max);
+    ArticleData cached = articles.getIfPresent(articleId);
+    if (cached != null) {
+      slugs.invalidate(cached.getSlug());
+    }
+    articles.invalidate(articleId);
+  }
+
+  /** Profiles are copied into every article of their author, so all of them have to go. */
+  public void invalidateAuthor(String userId) {
+    authorInvalidation.writeLock().lock();
+    try {
+      authorInvalidatedAt = generation.incrementAndGet();
+      articles.asMap().values().removeIf(article -> writtenBy(article, userId));
+    } finally {
+      authorInvalidation.writeLock().unlock();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long size() {
+    return articles.estimatedSize();
+  }
+
+  private long readStart() {
+    Object bound = TransactionSynchronizationManager.getResource(this);
+    return bound != null ? (Long) bound : generation.get();
+  }
+
+  /**
+   * Caches {@code loaded} unless it was invalidated after {@code readStart}. The check runs under
+   * the entry's lock, which {@link #invalidate} takes after bumping the generation, so either the
+   * check sees the bump or the invalidation removes the entry.
+   */
+  private void cache(ArticleData loaded, long readStart) {
+    authorInvalidation.readLock().lock();
+    try {
+      articles
+          .asMap()
+          .compute(
+              loaded.getId(),
+              (id, current) -> {
+                boolean fresh =
+                    invalidatedAt.get(stripe(id)) <= readStart
+                        && authorInvalidatedAt <= readStart;
+                return fresh ? loaded : current;
+              });
+    } finally {
+      authorInvalidation.readLock().unlock();
+    }
+    slugs.put(loaded.getSlug(), loaded.getId());
+  }
+
+  private static int stripe(String id) {
+    return Math.floorMod(id.hashCode(), STRIPES);
+  }
+
+  private static boolean writtenBy(ArticleData article, String userId) {
+    return article.getProfileData() != null && userId.equals(article.getProfileData().getId());
+  }
+
+  private static void nowAndAfterCommit(Runnable invalidation) {
+    invalidation.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              invalidation.run();
+            }
+          });
+    }
+  }
+
+  private static ArticleData copy(ArticleData article) {
+    ProfileData profile = article.getProfileData();
+    return new ArticleData(
+        article.getId(),
+        article.getSlug(),
+        article.getTitle(),
+        article.getDescription(),
+        article.getBody(),
+        false,
+        0,
+        article.getCreatedAt(),
+        article.getUpdatedAt(),
+        article.getTagList() == null ? new ArrayList<>() : new ArrayList<>(article.getTagList()),
+        profile == null
+            ? null
+            : new ProfileData(
+                profile.getId(),
+                profile.getUsername(),
+                profile.getBio(),
+                profile.getImage(),
+                false));
+  }
+}
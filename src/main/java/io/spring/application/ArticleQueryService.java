@@ -1,33 +1,74 @@
 package io.spring.application;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 import io.spring.application.data.ArticleData;
 import io.spring.application.data.ArticleDataList;
 import io.spring.application.data.ArticleFavoriteCount;
+import io.spring.application.data.ArticleSearchHit;
+import io.spring.application.data.ArticleSearchMatch;
+import io.spring.application.data.ArticleSearchResult;
+import io.spring.application.data.ArticleViewerState;
+import io.spring.application.data.ProfileData;
 import io.spring.core.user.User;
 import io.spring.infrastructure.mybatis.readservice.ArticleFavoritesReadService;
 import io.spring.infrastructure.mybatis.readservice.ArticleReadService;
 import io.spring.infrastructure.mybatis.readservice.UserRelationshipQueryService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import lombok.AllArgsConstructor;
+import java.util.function.Function;
 import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
 @Service
-@AllArgsConstructor
+@Transactional(readOnly = true)
 public class ArticleQueryService {
+  private static final String MATCH_START = "\u0002";
+  private static final String MATCH_END = "\u0003";
+
   private ArticleReadService articleReadService;
   private UserRelationshipQueryService userRelationshipQueryService;
   private ArticleFavoritesReadService articleFavoritesReadService;
+  private EnrichmentExecutor enrichmentExecutor;
+  private ArticleContentCache articleContentCache;
+  private boolean singleQueryDetail;
+
+  @Autowired
+  public ArticleQueryService(
+      ArticleReadService articleReadService,
+      UserRelationshipQueryService userRelationshipQueryService,
+      ArticleFavoritesReadService articleFavoritesReadService,
+      EnrichmentExecutor enrichmentExecutor,
+      ArticleContentCache articleContentCache,
+      @Value("${article.detail.single-query:true}") boolean singleQueryDetail) {
+    this.articleReadService = articleReadService;
+    this.userRelationshipQueryService = userRelationshipQueryService;
+    this.articleFavoritesReadService = articleFavoritesReadService;
+    this.enrichmentExecutor = enrichmentExecutor;
+    this.articleContentCache = articleContentCache;
+    this.singleQueryDetail = singleQueryDetail;
+  }
 
   public Optional<ArticleData> findById(String id, User user) {
+    articleContentCache.beginRead();
+    if (articleContentCache.isEnabled()) {
+      return withViewerState(articleContentCache.findById(id), user);
+    }
+    if (singleQueryDetail) {
+      return Optional.ofNullable(articleReadService.findDetailById(id, viewerId(user)));
+    }
     ArticleData articleData = articleReadService.findById(id);
     if (articleData == null) {
       return Optional.empty();
@@ -40,6 +81,13 @@ public class ArticleQueryService {
   }
 
   public Optional<ArticleData> findBySlug(String slug, User user) {
+    articleContentCache.beginRead();
+    if (articleContentCache.isEnabled()) {
+      return withViewerState(articleContentCache.findBySlug(slug), user);
+    }
+    if (singleQueryDetail) {
+      return Optional.ofNullable(articleReadService.findDetailBySlug(slug, viewerId(user)));
+    }
     ArticleData articleData = articleReadService.findBySlug(slug);
     if (articleData == null) {
       return Optional.empty();
@@ -57,6 +105,7 @@ public class ArticleQueryService {
       String favoritedBy,
       CursorPageParameter<DateTime> page,
       User currentUser) {
+    articleContentCache.beginRead();
     List<String> articleIds =
         articleReadService.findArticlesWithCursor(tag, author, favoritedBy, page);
     if (articleIds.size() == 0) {
@@ -70,7 +119,7 @@ public class ArticleQueryService {
         Collections.reverse(articleIds);
       }
 
-      List<ArticleData> articles = articleReadService.findArticles(articleIds);
+      List<ArticleData> articles = articleContentCache.findArticles(articleIds);
       fillExtraInfo(articles, currentUser);
 
       return new CursorPager<>(articles, page.getDirection(), hasExtra);
@@ -79,19 +128,20 @@ public class ArticleQueryService {
 
   public CursorPager<ArticleData> findUserFeedWithCursor(
       User user, CursorPageParameter<DateTime> page) {
-    List<String> followdUsers = userRelationshipQueryService.followedUsers(user.getId());
-    if (followdUsers.size() == 0) {
+    articleContentCache.beginRead();
+    List<String> articleIds = articleReadService.findFeedArticleIdsWithCursor(user.getId(), page);
+    if (articleIds.size() == 0) {
       return new CursorPager<>(new ArrayList<>(), page.getDirection(), false);
     } else {
-      List<ArticleData> articles =
-          articleReadService.findArticlesOfAuthorsWithCursor(followdUsers, page);
-      boolean hasExtra = articles.size() > page.getLimit();
+      boolean hasExtra = articleIds.size() > page.getLimit();
       if (hasExtra) {
-        articles.remove(page.getLimit());
+        articleIds.remove(page.getLimit());
       }
       if (!page.isNext()) {
-        Collections.reverse(articles);
+        Collections.reverse(articleIds);
       }
+
+      List<ArticleData> articles = articleContentCache.findArticles(articleIds);
       fillExtraInfo(articles, user);
       return new CursorPager<>(articles, page.getDirection(), hasExtra);
     }
@@ -99,35 +149,136 @@ public class ArticleQueryService {
 
   public ArticleDataList findRecentArticles(
       String tag, String author, String favoritedBy, Page page, User currentUser) {
+    articleContentCache.beginRead();
     List<String> articleIds = articleReadService.queryArticles(tag, author, favoritedBy, page);
     int articleCount = articleReadService.countArticle(tag, author, favoritedBy);
     if (articleIds.size() == 0) {
       return new ArticleDataList(new ArrayList<>(), articleCount);
     } else {
-      List<ArticleData> articles = articleReadService.findArticles(articleIds);
+      List<ArticleData> articles = articleContentCache.findArticles(articleIds);
       fillExtraInfo(articles, currentUser);
       return new ArticleDataList(articles, articleCount);
     }
   }
 
   public ArticleDataList findUserFeed(User user, Page page) {
-    List<String> followdUsers = userRelationshipQueryService.followedUsers(user.getId());
-    if (followdUsers.size() == 0) {
-      return new ArticleDataList(new ArrayList<>(), 0);
+    articleContentCache.beginRead();
+    List<String> articleIds = articleReadService.findFeedArticleIds(user.getId(), page);
+    int count = articleReadService.countFeedSize(user.getId());
+    if (articleIds.size() == 0) {
+      return new ArticleDataList(new ArrayList<>(), count);
     } else {
-      List<ArticleData> articles = articleReadService.findArticlesOfAuthors(followdUsers, page);
+      List<ArticleData> articles = articleContentCache.findArticles(articleIds);
       fillExtraInfo(articles, user);
-      int count = articleReadService.countFeedSize(followdUsers);
       return new ArticleDataList(articles, count);
     }
   }
 
+  /**
+   * Full-text search over title, description and body, best match first. Every word of {@code
+   * text} must match; the last one also matches as a prefix.
+   */
+  public ArticleSearchResult searchArticles(String text, Page page, User currentUser) {
+    articleContentCache.beginRead();
+    String query = matchQuery(text);
+    if (query == null) {
+      return new ArticleSearchResult(new ArrayList<>(), 0);
+    }
+    List<ArticleSearchMatch> matches = articleReadService.searchArticles(query, page);
+    int count = articleReadService.countSearchResults(query);
+    if (matches.isEmpty()) {
+      return new ArticleSearchResult(new ArrayList<>(), count);
+    }
+    List<ArticleData> articles =
+        articleContentCache.findArticles(
+            matches.stream().map(ArticleSearchMatch::getId).collect(toList()));
+    fillExtraInfo(articles, currentUser);
+    Map<String, ArticleData> byId =
+        articles.stream().collect(toMap(ArticleData::getId, Function.identity()));
+    List<ArticleSearchHit> hits =
+        matches.stream()
+            .filter(match -> byId.containsKey(match.getId()))
+            .map(
+                match ->
+                    new ArticleSearchHit(byId.get(match.getId()), highlight(match.getSnippet())))
+            .collect(toList());
+    return new ArticleSearchResult(hits, count);
+  }
+
+  /**
+   * Escapes the article text of a snippet and wraps the matches, which the query marks with STX and
+   * ETX, in {@code <mark>}; those tags are then the only markup a client rendering it gets.
+   */
+  static String highlight(String snippet) {
+    if (snippet == null) {
+      return null;
+    }
+    return HtmlUtils.htmlEscape(snippet, "UTF-8")
+        .replace(MATCH_START, "<mark>")
+        .replace(MATCH_END, "</mark>");
+  }
+
+  /** Quotes each word so user input never reaches the FTS5 query syntax. */
+  private static String matchQuery(String text) {
+    if (text == null) {
+      return null;
+    }
+    List<String> terms =
+        Arrays.stream(text.trim().split("\\s+"))
+            .filter(term -> term.codePoints().anyMatch(Character::isLetterOrDigit))
+            .map(term -> "\"" + term.replace("\"", "\"\"") + "\"")
+            .collect(toList());
+    if (terms.isEmpty()) {
+      return null;
+    }
+    return String.join(" ", terms) + "*";
+  }
+
+  /**
+   * Cached content plus the favorite count and the viewer's flags, read in one statement. A cached
+   * copy older than that row, e.g. after a lost remote invalidation, is evicted and read again, so
+   * the body is never older than the ETag {@link #findETagBySlug} computed before it.
+   */
+  private Optional<ArticleData> withViewerState(Optional<ArticleData> cached, User user) {
+    if (!cached.isPresent()) {
+      return cached;
+    }
+    ArticleViewerState state =
+        articleReadService.findViewerState(cached.get().getId(), viewerId(user));
+    if (state == null) {
+      return Optional.empty();
+    }
+    Optional<ArticleData> article = cached;
+    if (!isCurrent(cached.get(), state)) {
+      articleContentCache.invalidate(state.getId());
+      article = articleContentCache.findById(state.getId());
+    }
+    article.ifPresent(
+        articleData -> {
+          articleData.setFavoritesCount(state.getFavoritesCount());
+          articleData.setFavorited(state.isFavorited());
+          articleData.getProfileData().setFollowing(state.isFollowing());
+        });
+    return article;
+  }
+
+  private static boolean isCurrent(ArticleData cached, ArticleViewerState state) {
+    ProfileData author = cached.getProfileData();
+    return cached.getUpdatedAt().getMillis() == state.getUpdatedAt().getMillis()
+        && Objects.equals(author.getUsername(), state.getAuthorUsername())
+        && Objects.equals(author.getBio(), state.getAuthorBio())
+        && Objects.equals(author.getImage(), state.getAuthorImage());
+  }
+
   private void fillExtraInfo(List<ArticleData> articles, User currentUser) {
-    setFavoriteCount(articles);
-    if (currentUser != null) {
-      setIsFavorite(articles, currentUser);
-      setIsFollowingAuthor(articles, currentUser);
+    if (currentUser == null) {
+      setFavoriteCount(articles);
+      return;
     }
+    enrichmentExecutor.runAll(
+        () -> setIsFavorite(articles, currentUser),
+        () -> setIsFollowingAuthor(articles, currentUser),
+        () -> setFavoriteCount(articles));
   }
 
   private void setIsFollowingAuthor(List<ArticleData> articles, User currentUser) {
@@ -172,6 +323,17 @@ public class ArticleQueryService {
         });
   }
 
+  /** Strong ETag of what {@link #findBySlug} returns to {@code user}, from one cheap lookup. */
+  public Optional<String> findETagBySlug(String slug, User user) {
+    return Optional.ofNullable(articleReadService.findDetailVersionBySlug(slug, viewerId(user)))
+        .map(ETags::strong);
+  }
+
+  private static String viewerId(User user) {
+    return user == null ? null : user.getId();
+  }
+
+  /** Four-query enrichment, used when {@code article.detail.single-query} is false. */
   private void fillExtraInfo(String id, User user, ArticleData articleData) {
     articleData.setFavorited(articleFavoritesReadService.isUserFavorite(user.getId(), id));
     articleData.setFavoritesCount(articleFavoritesReadService.articleFavoriteCount(id));
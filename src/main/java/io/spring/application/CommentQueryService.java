@@ -13,9 +13,11 @@ import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.joda.time.DateTime;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class CommentQueryService {
   private CommentReadService commentReadService;
   private UserRelationshipQueryService userRelationshipQueryService;
@@ -34,23 +36,15 @@ public class CommentQueryService {
     return Optional.ofNullable(commentData);
   }
 
-  public List<CommentData> findByArticleId(String articleId, User user) {
-    List<CommentData> comments = commentReadService.findByArticleId(articleId);
-    if (comments.size() > 0 && user != null) {
-      Set<String> followingAuthors =
-          userRelationshipQueryService.followingAuthors(
-              user.getId(),
-              comments.stream()
-                  .map(commentData -> commentData.getProfileData().getId())
-                  .collect(Collectors.toList()));
-      comments.forEach(
-          commentData -> {
-            if (followingAuthors.contains(commentData.getProfileData().getId())) {
-              commentData.getProfileData().setFollowing(true);
-            }
-          });
-    }
-    return comments;
+  /**
+   * Strong ETag covering every comment of the article {@code slug}, and so each of its pages. It
+   * changes when a comment is added or removed, a commenter edits their profile or the viewer
+   * follows or unfollows someone, and is read from counters instead of the comments themselves.
+   */
+  public Optional<String> findETagByArticleSlug(String slug, User user) {
+    String viewerId = user == null ? null : user.getId();
+    return Optional.ofNullable(commentReadService.findVersionByArticleSlug(slug, viewerId))
+        .map(ETags::strong);
   }
 
   public CursorPager<CommentData> findByArticleIdWithCursor(
@@ -10,11 +10,17 @@ public class CursorPageParameter<T> {
   private static final int MAX_LIMIT = 1000;
   private int limit = 20;
   private T cursor;
+  private String cursorId;
   private Direction direction;
 
   public CursorPageParameter(T cursor, int limit, Direction direction) {
+    this(cursor, null, limit, direction);
+  }
+
+  public CursorPageParameter(T cursor, String cursorId, int limit, Direction direction) {
     setLimit(limit);
     setCursor(cursor);
+    setCursorId(cursorId);
     setDirection(direction);
   }
 
@@ -30,6 +36,10 @@ public class CursorPageParameter<T> {
     this.cursor = cursor;
   }
 
+  private void setCursorId(String cursorId) {
+    this.cursorId = cursorId;
+  }
+
   private void setLimit(int limit) {
     if (limit > MAX_LIMIT) {
       this.limit = MAX_LIMIT;
@@ -3,21 +3,55 @@ package io.spring.application;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 
+/**
+ * Cursor over a timestamp, optionally followed by the id of the row it was taken from ({@code
+ * millis:id}) so rows sharing a timestamp still page in a stable order.
+ */
 public class DateTimeCursor extends PageCursor<DateTime> {
+  private static final String SEPARATOR = ":";
+
+  private final String id;
 
   public DateTimeCursor(DateTime data) {
+    this(data, null);
+  }
+
+  public DateTimeCursor(DateTime data, String id) {
     super(data);
+    this.id = id;
   }
 
   @Override
   public String toString() {
-    return String.valueOf(getData().getMillis());
+    String millis = String.valueOf(getData().getMillis());
+    return id == null ? millis : millis + SEPARATOR + id;
   }
 
+  /** @throws InvalidCursorException if {@code cursor} is not one {@link #toString} produced */
   public static DateTime parse(String cursor) {
     if (cursor == null) {
       return null;
     }
-    return new DateTime().withMillis(Long.parseLong(cursor)).withZone(DateTimeZone.UTC);
+    int separator = cursor.indexOf(SEPARATOR);
+    String millis = separator < 0 ? cursor : cursor.substring(0, separator);
+    if (separator == cursor.length() - 1) {
+      throw new InvalidCursorException(cursor);
+    }
+    try {
+      return new DateTime().withMillis(Long.parseLong(millis)).withZone(DateTimeZone.UTC);
+    } catch (NumberFormatException e) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+
+  public static String parseId(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    int separator = cursor.indexOf(SEPARATOR);
+    if (separator == cursor.length() - 1) {
+      throw new InvalidCursorException(cursor);
+    }
+    return separator < 0 ? null : cursor.substring(separator + 1);
   }
 }
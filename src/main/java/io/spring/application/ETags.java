@@ -0,0 +1,13 @@
+package io.spring.application;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.util.DigestUtils;
+
+/** Builds strong entity tags from the version strings computed by the read services. */
+public final class ETags {
+  private ETags() {}
+
+  public static String strong(String version) {
+    return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+}
@@ -0,0 +1,140 @@
+package io.spring.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the independent read queries that enrich a page of results. By default the tasks run one
+ * after another on the calling thread. With {@code enrichment.parallel=true} all but the last run
+ * on a pool, each in its own read-only transaction so that the prod profile serves them from the
+ * reader pool, and the caller waits for the slowest. {@code enrichment.virtual-threads=true} uses
+ * a virtual thread per task on JDKs that have them.
+ *
+ * <p>A caller waiting for its tasks keeps the connection of its own transaction, while each task
+ * needs another one from the same pool. So that waiting callers can never hold all connections
+ * their tasks wait for, a page runs in parallel only if it can reserve one connection per task,
+ * caller included, out of {@code enrichment.max-connections}; otherwise it runs on the calling
+ * thread. A page of three queries reserves three, so the default of six enriches two pages in
+ * parallel at once. The routing configuration refuses to start with more than the reader pool
+ * holds.
+ */
+@Slf4j
+@Component
+public class EnrichmentExecutor implements DisposableBean {
+  private final ExecutorService executor;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Semaphore connections;
+
+  @Autowired
+  public EnrichmentExecutor(
+      PlatformTransactionManager transactionManager,
+      @Value("${enrichment.parallel:false}") boolean parallel,
+      @Value("${enrichment.threads:4}") int threads,
+      @Value("${enrichment.virtual-threads:false}") boolean virtualThreads,
+      @Value("${enrichment.max-connections:6}") int maxConnections) {
+    this.connections = new Semaphore(maxConnections);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    ExecutorService virtual = parallel && virtualThreads ? virtualThreadExecutor() : null;
+    if (!parallel) {
+      this.executor = null;
+    } else if (virtual != null) {
+      this.executor = virtual;
+    } else {
+      this.executor =
+          Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("enrichment-"));
+    }
+  }
+
+  public void runAll(Runnable... tasks) {
+    if (executor == null || tasks.length < 2 || !connections.tryAcquire(tasks.length)) {
+      for (Runnable task : tasks) {
+        task.run();
+      }
+      return;
+    }
+    try {
+      runInParallel(tasks);
+    } finally {
+      connections.release(tasks.length);
+    }
+  }
+
+  private void runInParallel(Runnable... tasks) {
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < tasks.length - 1; i++) {
+      Runnable task = tasks[i];
+      futures.add(executor.submit(() -> readOnlyTransaction.executeWithoutResult(s -> task.run())));
+    }
+    try {
+      tasks[tasks.length - 1].run();
+    } finally {
+      awaitAll(futures);
+    }
+  }
+
+  /** Waits for every task, even after one failed, so none still holds a reserved connection. */
+  private static void awaitAll(List<Future<?>> futures) {
+    RuntimeException failure = null;
+    for (Future<?> future : futures) {
+      try {
+        join(future);
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static void join(Future<?> future) {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for enrichment", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up so the code builds on 11. */
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not available on this JDK, using a fixed thread pool");
+      return null;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
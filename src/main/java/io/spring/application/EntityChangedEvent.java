@@ -0,0 +1,35 @@
+package io.spring.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the repositories when they write an entity, and republished with {@code remote} set
+ * when another node reports a write through the invalidation bus. In-process caches evict on it.
+ */
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+  public enum Entity {
+    /** An article's content was updated or the article was removed; id is the article id. */
+    ARTICLE,
+    /** An article carrying tags was created or removed; id is the article id. */
+    TAG,
+    /** A user's profile was updated; id is the user id. */
+    USER,
+    /** A user followed or unfollowed someone; id is the follower's user id. */
+    FOLLOW,
+    /** A comment was added or removed; id is the article id. */
+    COMMENT,
+    /** An article was favorited or unfavorited; id is the article id. */
+    FAVORITE
+  }
+
+  private Entity entity;
+  private String id;
+  private boolean remote;
+
+  public EntityChangedEvent(Entity entity, String id) {
+    this(entity, id, false);
+  }
+}
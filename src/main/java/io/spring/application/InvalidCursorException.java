@@ -0,0 +1,9 @@
+package io.spring.application;
+
+/** A page cursor sent by a client that no page of ours could have handed out. */
+@SuppressWarnings("serial")
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String cursor) {
+    super("invalid cursor " + cursor);
+  }
+}
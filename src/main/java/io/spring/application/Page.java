@@ -6,7 +6,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 public class Page {
-  private static final int MAX_LIMIT = 100;
+  public static final int MAX_LIMIT = 100;
   private int offset = 0;
   private int limit = 20;
 
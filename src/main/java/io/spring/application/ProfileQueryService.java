@@ -1,16 +1,26 @@
 package io.spring.application;
 
+import static java.util.stream.Collectors.toList;
+
 import io.spring.application.data.ProfileData;
 import io.spring.application.data.UserData;
 import io.spring.core.user.User;
 import io.spring.infrastructure.mybatis.readservice.UserReadService;
 import io.spring.infrastructure.mybatis.readservice.UserRelationshipQueryService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class ProfileQueryService {
   private UserReadService userReadService;
   private UserRelationshipQueryService userRelationshipQueryService;
@@ -32,4 +42,35 @@ public class ProfileQueryService {
       return Optional.of(profileData);
     }
   }
+
+  /** Strong ETag of what {@link #findByUsername} returns to {@code currentUser}. */
+  public Optional<String> findETagByUsername(String username, User currentUser) {
+    String viewerId = currentUser == null ? null : currentUser.getId();
+    return Optional.ofNullable(userReadService.findProfileVersion(username, viewerId))
+        .map(ETags::strong);
+  }
+
+  public Map<String, ProfileData> findByUsernames(Collection<String> usernames, User currentUser) {
+    Map<String, ProfileData> profiles = new HashMap<>();
+    if (usernames.isEmpty()) {
+      return profiles;
+    }
+    List<UserData> users = userReadService.findByUsernames(usernames);
+    Set<String> followingAuthors =
+        currentUser == null || users.isEmpty()
+            ? Collections.emptySet()
+            : userRelationshipQueryService.followingAuthors(
+                currentUser.getId(), users.stream().map(UserData::getId).collect(toList()));
+    users.forEach(
+        userData ->
+            profiles.put(
+                userData.getUsername(),
+                new ProfileData(
+                    userData.getId(),
+                    userData.getUsername(),
+                    userData.getBio(),
+                    userData.getImage(),
+                    followingAuthors.contains(userData.getId()))));
+    return profiles;
+  }
 }
@@ -0,0 +1,167 @@
+package io.spring.application;
+
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.article.TagUsageChangedEvent;
+import io.spring.application.data.TagCount;
+import io.spring.infrastructure.mybatis.readservice.TagReadService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Usage counts of every tag ranked by popularity, held in memory; unused tags stay listed with a
+ * count of 0. The counts are loaded lazily from {@code tags} and {@code article_summary_tags}, kept
+ * current by {@link TagUsageChangedEvent}s once the publishing transaction has committed, and
+ * reloaded every {@code tags.registry.reload-seconds}. A change is only applied to the snapshot
+ * that was current when it was published; a snapshot loaded in between may already include it, so
+ * the next read reloads instead. Articles created or removed on other nodes only carry their id,
+ * so they make the next read reload the counts.
+ */
+@Component
+public class TagPopularityRegistry {
+  private final TagReadService tagReadService;
+  private final long reloadMillis;
+  private volatile Snapshot snapshot;
+  private long generation;
+
+  @Autowired
+  public TagPopularityRegistry(
+      TagReadService tagReadService,
+      @Value("${tags.registry.reload-seconds:600}") long reloadSeconds) {
+    this.tagReadService = tagReadService;
+    this.reloadMillis = reloadSeconds * 1000L;
+  }
+
+  public Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null || current.getLoadedAt() + reloadMillis < System.currentTimeMillis()) {
+      current = reload(current);
+    }
+    return current;
+  }
+
+  @EventListener
+  public void onTagUsageChanged(TagUsageChangedEvent event) {
+    long publishedGeneration = currentGeneration();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(event.getTagNames(), event.getDelta(), publishedGeneration);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            apply(event.getTagNames(), event.getDelta(), publishedGeneration);
+          }
+        });
+  }
+
+  @EventListener
+  public synchronized void onEntityChanged(EntityChangedEvent event) {
+    if (event.isRemote() && event.getEntity() == Entity.TAG) {
+      snapshot = null;
+    }
+  }
+
+  private synchronized long currentGeneration() {
+    return generation;
+  }
+
+  synchronized void apply(Collection<String> tagNames, int delta, long publishedGeneration) {
+    Snapshot current = snapshot;
+    if (current == null || tagNames.isEmpty()) {
+      return;
+    }
+    if (current.generation != publishedGeneration) {
+      snapshot = null;
+      return;
+    }
+    Map<String, Integer> counts = new HashMap<>(current.counts);
+    for (String tagName : tagNames) {
+      counts.merge(tagName, delta, (count, change) -> Math.max(count + change, 0));
+    }
+    snapshot =
+        new Snapshot(current.generation, counts, current.getLoadedAt(), System.currentTimeMillis());
+  }
+
+  private synchronized Snapshot reload(Snapshot expected) {
+    if (snapshot != expected) {
+      return snapshot;
+    }
+    Map<String, Integer> counts = new HashMap<>();
+    for (TagCount tagCount : tagReadService.usage()) {
+      counts.put(tagCount.getName(), tagCount.getCount());
+    }
+    long now = System.currentTimeMillis();
+    Snapshot loaded = new Snapshot(++generation, counts, now, now);
+    snapshot = loaded;
+    discardOnRollback(loaded.generation);
+    return loaded;
+  }
+
+  /** A load inside a transaction that rolls back may have seen rows that never committed. */
+  private void discardOnRollback(long loadedGeneration) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+              discard(loadedGeneration);
+            }
+          }
+        });
+  }
+
+  private synchronized void discard(long loadedGeneration) {
+    if (snapshot != null && snapshot.generation == loadedGeneration) {
+      snapshot = null;
+    }
+  }
+
+  public static class Snapshot {
+    private final long generation;
+    private final Map<String, Integer> counts;
+    private final List<String> ranked;
+    @Getter private final long loadedAt;
+    @Getter private final long lastModified;
+
+    private Snapshot(
+        long generation, Map<String, Integer> counts, long loadedAt, long lastModified) {
+      this.generation = generation;
+      this.counts = counts;
+      this.ranked =
+          Collections.unmodifiableList(
+              counts.entrySet().stream()
+                  .sorted(
+                      Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                          .thenComparing(Map.Entry.comparingByKey()))
+                  .map(Map.Entry::getKey)
+                  .collect(Collectors.toList()));
+      this.loadedAt = loadedAt;
+      this.lastModified = lastModified;
+    }
+
+    public List<String> top(int limit) {
+      return new ArrayList<>(ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size())));
+    }
+
+    public int count(String tagName) {
+      return counts.getOrDefault(tagName, 0);
+    }
+  }
+}
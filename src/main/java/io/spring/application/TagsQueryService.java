@@ -1,16 +1,24 @@
 package io.spring.application;
 
-import io.spring.infrastructure.mybatis.readservice.TagReadService;
+import io.spring.application.data.PopularTags;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class TagsQueryService {
-  private TagReadService tagReadService;
+  private TagPopularityRegistry tagPopularityRegistry;
 
   public List<String> allTags() {
-    return tagReadService.all();
+    return tagPopularityRegistry.snapshot().top(Integer.MAX_VALUE);
+  }
+
+  public PopularTags popularTags(int limit) {
+    TagPopularityRegistry.Snapshot snapshot = tagPopularityRegistry.snapshot();
+    List<String> tags = snapshot.top(limit);
+    return new PopularTags(tags, ETags.strong(String.join("\n", tags)), snapshot.getLastModified());
   }
 }
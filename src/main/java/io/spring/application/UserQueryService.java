@@ -5,9 +5,11 @@ import io.spring.infrastructure.mybatis.readservice.UserReadService;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class UserQueryService {
   private UserReadService userReadService;
 
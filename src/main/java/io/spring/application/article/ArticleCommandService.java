@@ -23,7 +23,7 @@ public class ArticleCommandService {
             newArticleParam.getBody(),
             newArticleParam.getTagList(),
             creator.getId());
-    articleRepository.save(article);
+    articleRepository.create(article);
     return article;
   }
 
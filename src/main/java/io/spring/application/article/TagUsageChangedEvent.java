@@ -0,0 +1,13 @@
+package io.spring.application.article;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published when an article carrying {@code tagNames} is created ({@code +1}) or removed. */
+@Getter
+@AllArgsConstructor
+public class TagUsageChangedEvent {
+  private List<String> tagNames;
+  private int delta;
+}
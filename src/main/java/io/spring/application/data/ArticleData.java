@@ -1,5 +1,6 @@
 package io.spring.application.data;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.spring.application.DateTimeCursor;
 import java.util.List;
@@ -11,7 +12,11 @@ import org.joda.time.DateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(ArticleData.FIELDS_FILTER)
 public class ArticleData implements io.spring.application.Node {
+  /** Serializes every field unless a response selects fields, see {@code ArticleFields}. */
+  public static final String FIELDS_FILTER = "articleFields";
+
   private String id;
   private String slug;
   private String title;
@@ -28,6 +33,6 @@ public class ArticleData implements io.spring.application.Node {
 
   @Override
   public DateTimeCursor getCursor() {
-    return new DateTimeCursor(updatedAt);
+    return new DateTimeCursor(createdAt, id);
   }
 }
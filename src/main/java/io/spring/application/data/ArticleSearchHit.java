@@ -0,0 +1,13 @@
+package io.spring.application.data;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A search result: the article fields plus the matching text with terms wrapped in mark tags. */
+@Getter
+@AllArgsConstructor
+public class ArticleSearchHit {
+  @JsonUnwrapped private final ArticleData article;
+  private final String snippet;
+}
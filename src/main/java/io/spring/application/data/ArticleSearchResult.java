@@ -0,0 +1,19 @@
+package io.spring.application.data;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class ArticleSearchResult {
+  @JsonProperty("articles")
+  private final List<ArticleSearchHit> hits;
+
+  @JsonProperty("articlesCount")
+  private final int count;
+
+  public ArticleSearchResult(List<ArticleSearchHit> hits, int count) {
+    this.hits = hits;
+    this.count = count;
+  }
+}
@@ -0,0 +1,22 @@
+package io.spring.application.data;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.joda.time.DateTime;
+
+/**
+ * The parts of an article detail that are never cached, its favorite count and viewer flags, plus
+ * the update time and author profile a cached copy must still match.
+ */
+@Data
+@NoArgsConstructor
+public class ArticleViewerState {
+  private String id;
+  private int favoritesCount;
+  private boolean favorited;
+  private boolean following;
+  private DateTime updatedAt;
+  private String authorUsername;
+  private String authorBio;
+  private String authorImage;
+}
@@ -24,6 +24,6 @@ public class CommentData implements Node {
 
   @Override
   public DateTimeCursor getCursor() {
-    return new DateTimeCursor(createdAt);
+    return new DateTimeCursor(createdAt, id);
   }
 }
@@ -0,0 +1,11 @@
+package io.spring.application.data;
+
+import java.util.List;
+import lombok.Value;
+
+@Value
+public class PopularTags {
+  private List<String> tags;
+  private String etag;
+  private long lastModified;
+}
@@ -0,0 +1,9 @@
+package io.spring.application.data;
+
+import lombok.Value;
+
+@Value
+public class TagCount {
+  private String name;
+  private Integer count;
+}
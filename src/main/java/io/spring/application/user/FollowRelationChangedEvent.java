@@ -0,0 +1,13 @@
+package io.spring.application.user;
+
+import io.spring.core.user.FollowRelation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Published when {@code relation} is saved ({@code following}) or removed. */
+@Getter
+@AllArgsConstructor
+public class FollowRelationChangedEvent {
+  private FollowRelation relation;
+  private boolean following;
+}
@@ -10,6 +10,7 @@ import javax.validation.ConstraintValidatorContext;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -20,15 +21,18 @@ public class UserService {
   private UserRepository userRepository;
   private String defaultImage;
   private PasswordEncoder passwordEncoder;
+  private ApplicationEventPublisher eventPublisher;
 
   @Autowired
   public UserService(
       UserRepository userRepository,
       @Value("${image.default}") String defaultImage,
-      PasswordEncoder passwordEncoder) {
+      PasswordEncoder passwordEncoder,
+      ApplicationEventPublisher eventPublisher) {
     this.userRepository = userRepository;
     this.defaultImage = defaultImage;
     this.passwordEncoder = passwordEncoder;
+    this.eventPublisher = eventPublisher;
   }
 
   public User createUser(@Valid RegisterParam registerParam) {
@@ -53,6 +57,7 @@ public class UserService {
         updateUserParam.getBio(),
         updateUserParam.getImage());
     userRepository.save(user);
+    eventPublisher.publishEvent(new UserUpdatedEvent(user.getId()));
   }
 }
 
@@ -0,0 +1,10 @@
+package io.spring.application.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserUpdatedEvent {
+  private String userId;
+}
@@ -6,6 +6,9 @@ public interface ArticleRepository {
 
   void save(Article article);
 
+  /** Inserts an article known to be new, without checking whether it already exists. */
+  void create(Article article);
+
   Optional<Article> findById(String id);
 
   Optional<Article> findBySlug(String slug);
@@ -47,4 +47,16 @@ public class User {
       this.image = image;
     }
   }
+
+  /** A copy with the same id, so updates to one are not seen through the other. */
+  public User copy() {
+    User copy = new User();
+    copy.id = id;
+    copy.email = email;
+    copy.username = username;
+    copy.password = password;
+    copy.bio = bio;
+    copy.image = image;
+    return copy;
+  }
 }
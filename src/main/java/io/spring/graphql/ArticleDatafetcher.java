@@ -15,7 +15,10 @@ import io.spring.application.CursorPageParameter;
 import io.spring.application.CursorPager;
 import io.spring.application.CursorPager.Direction;
 import io.spring.application.DateTimeCursor;
+import io.spring.application.Page;
 import io.spring.application.data.ArticleData;
+import io.spring.application.data.ArticleSearchHit;
+import io.spring.application.data.ArticleSearchResult;
 import io.spring.application.data.CommentData;
 import io.spring.core.user.User;
 import io.spring.core.user.UserRepository;
@@ -27,7 +30,9 @@ import io.spring.graphql.types.Article;
 import io.spring.graphql.types.ArticleEdge;
 import io.spring.graphql.types.ArticlesConnection;
 import io.spring.graphql.types.Profile;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.joda.time.format.ISODateTimeFormat;
@@ -57,12 +62,20 @@ public class ArticleDatafetcher {
       articles =
           articleQueryService.findUserFeedWithCursor(
               current,
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT));
     } else {
       articles =
           articleQueryService.findUserFeedWithCursor(
               current,
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV));
     }
     graphql.relay.PageInfo pageInfo = buildArticlePageInfo(articles);
     ArticlesConnection articlesConnection =
@@ -107,12 +120,20 @@ public class ArticleDatafetcher {
       articles =
           articleQueryService.findUserFeedWithCursor(
               target,
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT));
     } else {
       articles =
           articleQueryService.findUserFeedWithCursor(
               target,
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV));
     }
     graphql.relay.PageInfo pageInfo = buildArticlePageInfo(articles);
     ArticlesConnection articlesConnection =
@@ -156,7 +177,11 @@ public class ArticleDatafetcher {
               null,
               null,
               profile.getUsername(),
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT),
               current);
     } else {
       articles =
@@ -164,7 +189,11 @@ public class ArticleDatafetcher {
               null,
               null,
               profile.getUsername(),
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV),
               current);
     }
     graphql.relay.PageInfo pageInfo = buildArticlePageInfo(articles);
@@ -210,7 +239,11 @@ public class ArticleDatafetcher {
               null,
               profile.getUsername(),
               null,
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT),
               current);
     } else {
       articles =
@@ -218,7 +251,11 @@ public class ArticleDatafetcher {
               null,
               profile.getUsername(),
               null,
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV),
               current);
     }
     graphql.relay.PageInfo pageInfo = buildArticlePageInfo(articles);
@@ -265,7 +302,11 @@ public class ArticleDatafetcher {
               withTag,
               authoredBy,
               favoritedBy,
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT),
               current);
     } else {
       articles =
@@ -273,7 +314,11 @@ public class ArticleDatafetcher {
               withTag,
               authoredBy,
               favoritedBy,
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV),
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV),
               current);
     }
     graphql.relay.PageInfo pageInfo = buildArticlePageInfo(articles);
@@ -297,6 +342,44 @@ public class ArticleDatafetcher {
         .build();
   }
 
+  /** Search results are ranked, so the cursors are result offsets rather than timestamps. */
+  @DgsQuery(field = QUERY.SearchArticles)
+  public DataFetcherResult<ArticlesConnection> searchArticles(
+      @InputArgument("query") String query,
+      @InputArgument("first") Integer first,
+      @InputArgument("after") String after) {
+    User current = SecurityUtil.getCurrentUser().orElse(null);
+    int offset = after == null ? 0 : Integer.parseInt(after);
+    Page page = new Page(offset, first == null ? 20 : first);
+    ArticleSearchResult result = articleQueryService.searchArticles(query, page, current);
+
+    List<ArticleEdge> edges = new ArrayList<>();
+    for (ArticleSearchHit hit : result.getHits()) {
+      Article article = buildArticleResult(hit.getArticle());
+      article.setSnippet(hit.getSnippet());
+      edges.add(
+          ArticleEdge.newBuilder()
+              .cursor(String.valueOf(page.getOffset() + edges.size() + 1))
+              .node(article)
+              .build());
+    }
+    graphql.relay.PageInfo pageInfo =
+        new DefaultPageInfo(
+            edges.isEmpty() ? null : new DefaultConnectionCursor(edges.get(0).getCursor()),
+            edges.isEmpty()
+                ? null
+                : new DefaultConnectionCursor(edges.get(edges.size() - 1).getCursor()),
+            page.getOffset() > 0,
+            page.getOffset() + edges.size() < result.getCount());
+    return DataFetcherResult.<ArticlesConnection>newResult()
+        .data(ArticlesConnection.newBuilder().pageInfo(pageInfo).edges(edges).build())
+        .localContext(
+            result.getHits().stream()
+                .map(ArticleSearchHit::getArticle)
+                .collect(Collectors.toMap(ArticleData::getSlug, a -> a)))
+        .build();
+  }
+
   @DgsData(parentType = ARTICLEPAYLOAD.TYPE_NAME, field = ARTICLEPAYLOAD.Article)
   public DataFetcherResult<Article> getArticle(DataFetchingEnvironment dfe) {
     io.spring.core.article.Article article = dfe.getLocalContext();
@@ -70,13 +70,21 @@ public class CommentDatafetcher {
           commentQueryService.findByArticleIdWithCursor(
               articleData.getId(),
               current,
-              new CursorPageParameter<>(DateTimeCursor.parse(after), first, Direction.NEXT));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(after),
+                  DateTimeCursor.parseId(after),
+                  first,
+                  Direction.NEXT));
     } else {
       comments =
           commentQueryService.findByArticleIdWithCursor(
               articleData.getId(),
               current,
-              new CursorPageParameter<>(DateTimeCursor.parse(before), last, Direction.PREV));
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(before),
+                  DateTimeCursor.parseId(before),
+                  last,
+                  Direction.PREV));
     }
     graphql.relay.PageInfo pageInfo = buildCommentPageInfo(comments);
     CommentsConnection result =
@@ -14,12 +14,15 @@ import io.spring.graphql.DgsConstants.ARTICLE;
 import io.spring.graphql.DgsConstants.COMMENT;
 import io.spring.graphql.DgsConstants.QUERY;
 import io.spring.graphql.DgsConstants.USER;
+import io.spring.graphql.dataloader.ProfileLoader;
 import io.spring.graphql.types.Article;
 import io.spring.graphql.types.Comment;
 import io.spring.graphql.types.Profile;
 import io.spring.graphql.types.ProfilePayload;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.AllArgsConstructor;
+import org.dataloader.DataLoader;
 
 @DgsComponent
 @AllArgsConstructor
@@ -35,17 +38,22 @@ public class ProfileDatafetcher {
   }
 
   @DgsData(parentType = ARTICLE.TYPE_NAME, field = ARTICLE.Author)
-  public Profile getAuthor(DataFetchingEnvironment dataFetchingEnvironment) {
+  public CompletableFuture<Profile> getAuthor(DataFetchingEnvironment dataFetchingEnvironment) {
     Map<String, ArticleData> map = dataFetchingEnvironment.getLocalContext();
     Article article = dataFetchingEnvironment.getSource();
-    return queryProfile(map.get(article.getSlug()).getProfileData().getUsername());
+    DataLoader<String, Profile> profileLoader =
+        dataFetchingEnvironment.getDataLoader(ProfileLoader.NAME);
+    return profileLoader.load(map.get(article.getSlug()).getProfileData().getUsername());
   }
 
   @DgsData(parentType = COMMENT.TYPE_NAME, field = COMMENT.Author)
-  public Profile getCommentAuthor(DataFetchingEnvironment dataFetchingEnvironment) {
+  public CompletableFuture<Profile> getCommentAuthor(
+      DataFetchingEnvironment dataFetchingEnvironment) {
     Comment comment = dataFetchingEnvironment.getSource();
     Map<String, CommentData> map = dataFetchingEnvironment.getLocalContext();
-    return queryProfile(map.get(comment.getId()).getProfileData().getUsername());
+    DataLoader<String, Profile> profileLoader =
+        dataFetchingEnvironment.getDataLoader(ProfileLoader.NAME);
+    return profileLoader.load(map.get(comment.getId()).getProfileData().getUsername());
   }
 
   @DgsData(parentType = DgsConstants.QUERY_TYPE, field = QUERY.Profile)
@@ -61,11 +69,6 @@ public class ProfileDatafetcher {
         profileQueryService
             .findByUsername(username, current)
             .orElseThrow(ResourceNotFoundException::new);
-    return Profile.newBuilder()
-        .username(profileData.getUsername())
-        .bio(profileData.getBio())
-        .image(profileData.getImage())
-        .following(profileData.isFollowing())
-        .build();
+    return ProfileLoader.buildProfile(profileData);
   }
 }
@@ -0,0 +1,46 @@
+package io.spring.graphql.dataloader;
+
+import com.netflix.graphql.dgs.DgsDataLoader;
+import io.spring.application.ProfileQueryService;
+import io.spring.application.data.ProfileData;
+import io.spring.core.user.User;
+import io.spring.graphql.SecurityUtil;
+import io.spring.graphql.types.Profile;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import lombok.AllArgsConstructor;
+import org.dataloader.MappedBatchLoader;
+
+/**
+ * Resolves all profiles requested while executing one GraphQL operation with a single users query
+ * and a single follows query, instead of two queries per article or comment node.
+ */
+@DgsDataLoader(name = ProfileLoader.NAME)
+@AllArgsConstructor
+public class ProfileLoader implements MappedBatchLoader<String, Profile> {
+  public static final String NAME = "profiles";
+
+  private ProfileQueryService profileQueryService;
+
+  @Override
+  public CompletionStage<Map<String, Profile>> load(Set<String> usernames) {
+    User current = SecurityUtil.getCurrentUser().orElse(null);
+    Map<String, Profile> profiles = new HashMap<>();
+    profileQueryService
+        .findByUsernames(usernames, current)
+        .forEach((username, profileData) -> profiles.put(username, buildProfile(profileData)));
+    return CompletableFuture.completedFuture(profiles);
+  }
+
+  public static Profile buildProfile(ProfileData profileData) {
+    return Profile.newBuilder()
+        .username(profileData.getUsername())
+        .bio(profileData.getBio())
+        .image(profileData.getImage())
+        .following(profileData.isFollowing())
+        .build();
+  }
+}
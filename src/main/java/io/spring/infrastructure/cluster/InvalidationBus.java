@@ -0,0 +1,113 @@
+package io.spring.infrastructure.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards the {@link EntityChangedEvent}s of this node to the other nodes once the publishing
+ * transaction has committed, and republishes theirs here with {@code remote} set, so the local
+ * caches evict what other nodes wrote. Remote events are never forwarded again.
+ *
+ * <p>Messages are {@code v1|node|sentAtMillis|ENTITY|id}. The time from sending to republishing is
+ * recorded as {@code cluster.invalidation.lag}; it is measured against the sender's clock, so it is
+ * only as accurate as the clock sync between nodes.
+ */
+@Slf4j
+public class InvalidationBus {
+  static final String LAG = "cluster.invalidation.lag";
+  static final String MESSAGES = "cluster.invalidation.messages";
+  private static final String VERSION = "v1";
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final InvalidationTransport transport;
+  private final ApplicationEventPublisher publisher;
+  private final Timer lag;
+  private final Counter sent;
+  private final Counter received;
+  private final Counter failed;
+
+  public InvalidationBus(
+      InvalidationTransport transport,
+      ApplicationEventPublisher publisher,
+      MeterRegistry meterRegistry) {
+    this.transport = transport;
+    this.publisher = publisher;
+    this.lag =
+        Timer.builder(LAG)
+            .description("Time from sending an invalidation to evicting on a receiving node")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.sent = messages(meterRegistry, "sent");
+    this.received = messages(meterRegistry, "received");
+    this.failed = messages(meterRegistry, "failed");
+    transport.subscribe(this::receive);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isRemote()) {
+      return;
+    }
+    String message =
+        String.join(
+            "|",
+            VERSION,
+            nodeId,
+            Long.toString(System.currentTimeMillis()),
+            event.getEntity().name(),
+            event.getId());
+    try {
+      transport.send(message.getBytes(StandardCharsets.UTF_8));
+      sent.increment();
+    } catch (IOException e) {
+      failed.increment();
+      log.warn("Could not send invalidation {}", message, e);
+    }
+  }
+
+  void receive(byte[] bytes) {
+    String message = new String(bytes, StandardCharsets.UTF_8);
+    String[] parts = message.split("\\|", 5);
+    if (parts.length == 5 && nodeId.equals(parts[1])) {
+      return;
+    }
+    EntityChangedEvent event;
+    long sentAt;
+    try {
+      if (parts.length != 5 || !VERSION.equals(parts[0])) {
+        throw new IllegalArgumentException("Unknown message format");
+      }
+      sentAt = Long.parseLong(parts[2]);
+      event = new EntityChangedEvent(Entity.valueOf(parts[3]), parts[4], true);
+    } catch (IllegalArgumentException e) {
+      failed.increment();
+      log.warn("Dropping malformed invalidation {}", message, e);
+      return;
+    }
+    try {
+      publisher.publishEvent(event);
+      received.increment();
+    } catch (RuntimeException e) {
+      failed.increment();
+      log.warn("Applying invalidation of {} {} failed", event.getEntity(), event.getId(), e);
+    }
+    lag.record(Math.max(0, System.currentTimeMillis() - sentAt), TimeUnit.MILLISECONDS);
+  }
+
+  private static Counter messages(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder(MESSAGES)
+        .description("Invalidation messages by outcome")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
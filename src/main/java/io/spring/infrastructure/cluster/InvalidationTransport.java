@@ -0,0 +1,18 @@
+package io.spring.infrastructure.cluster;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation messages between the nodes of a cluster. A message sent by one node reaches
+ * every subscribed node, possibly including the sender; delivery is best effort.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+  void send(byte[] message) throws IOException;
+
+  void subscribe(Consumer<byte[]> receiver);
+
+  @Override
+  void close();
+}
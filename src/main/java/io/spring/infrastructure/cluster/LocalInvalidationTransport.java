@@ -0,0 +1,40 @@
+package io.spring.infrastructure.cluster;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Delivers every message synchronously to all open local transports of this JVM, so tests can run
+ * several nodes side by side without a network.
+ */
+public class LocalInvalidationTransport implements InvalidationTransport {
+  private static final Set<LocalInvalidationTransport> OPEN = new CopyOnWriteArraySet<>();
+
+  private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+  public LocalInvalidationTransport() {
+    OPEN.add(this);
+  }
+
+  @Override
+  public void send(byte[] message) {
+    for (LocalInvalidationTransport transport : OPEN) {
+      for (Consumer<byte[]> receiver : transport.receivers) {
+        receiver.accept(message.clone());
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<byte[]> receiver) {
+    receivers.add(receiver);
+  }
+
+  @Override
+  public void close() {
+    OPEN.remove(this);
+  }
+}
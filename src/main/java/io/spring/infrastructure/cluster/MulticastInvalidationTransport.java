@@ -0,0 +1,81 @@
+package io.spring.infrastructure.cluster;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends messages as UDP datagrams to a multicast group and hands those received to the subscribers
+ * on a daemon thread. Loopback stays on, so nodes sharing a host see each other too; the sender
+ * receives its own messages and has to skip them.
+ */
+@Slf4j
+public class MulticastInvalidationTransport implements InvalidationTransport {
+  private static final int MAX_MESSAGE_BYTES = 1024;
+
+  private final InetSocketAddress group;
+  private final MulticastSocket socket;
+  private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+  private volatile boolean closed;
+
+  public MulticastInvalidationTransport(String groupAddress, int port, int timeToLive)
+      throws IOException {
+    this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+    this.socket = new MulticastSocket(port);
+    socket.setTimeToLive(timeToLive);
+    socket.joinGroup(group, null);
+    Thread receiver = new Thread(this::receive, "invalidation-multicast");
+    receiver.setDaemon(true);
+    receiver.start();
+  }
+
+  @Override
+  public void send(byte[] message) throws IOException {
+    if (message.length > MAX_MESSAGE_BYTES) {
+      throw new IOException("Invalidation message of " + message.length + " bytes is too long");
+    }
+    socket.send(new DatagramPacket(message, message.length, group));
+  }
+
+  @Override
+  public void subscribe(Consumer<byte[]> receiver) {
+    receivers.add(receiver);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    socket.close();
+  }
+
+  private void receive() {
+    byte[] buffer = new byte[MAX_MESSAGE_BYTES];
+    while (!closed) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        socket.receive(packet);
+      } catch (IOException e) {
+        if (closed || socket.isClosed()) {
+          return;
+        }
+        log.warn("Receiving from invalidation group {} failed", group, e);
+        continue;
+      }
+      byte[] message = Arrays.copyOf(packet.getData(), packet.getLength());
+      for (Consumer<byte[]> receiver : receivers) {
+        try {
+          receiver.accept(message);
+        } catch (RuntimeException e) {
+          log.warn("Invalidation receiver failed", e);
+        }
+      }
+    }
+  }
+}
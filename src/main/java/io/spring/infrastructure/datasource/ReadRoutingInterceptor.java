@@ -0,0 +1,57 @@
+package io.spring.infrastructure.datasource;
+
+import java.util.function.Supplier;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Gives {@link ReadWriteRoutingDataSource} what it cannot see from the transaction alone: queries
+ * of the read service mappers are marked so they go to the readers even outside a read-only
+ * transaction, and every update starts the current user's {@link ReadYourWritesWindow}.
+ */
+@Intercepts({
+  @Signature(
+      type = Executor.class,
+      method = "query",
+      args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class ReadRoutingInterceptor implements Interceptor {
+  static final String READ_SERVICE_PACKAGE = "io.spring.infrastructure.mybatis.readservice.";
+
+  private final ReadYourWritesWindow window;
+  private final Supplier<String> currentUser;
+
+  public ReadRoutingInterceptor(ReadYourWritesWindow window, Supplier<String> currentUser) {
+    this.window = window;
+    this.currentUser = currentUser;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    if (invocation.getMethod().getName().equals("update")) {
+      Object result = invocation.proceed();
+      String userId = currentUser.get();
+      if (userId != null) {
+        window.recordWrite(userId);
+      }
+      return result;
+    }
+    if (!statement.getId().startsWith(READ_SERVICE_PACKAGE)) {
+      return invocation.proceed();
+    }
+    boolean outer = ReadWriteRoutingDataSource.beginReadService();
+    try {
+      return invocation.proceed();
+    } finally {
+      ReadWriteRoutingDataSource.endReadService(outer);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package io.spring.infrastructure.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested inside a {@code @Transactional(readOnly = true)} transaction, or by a
+ * read service mapper outside any transaction, to the reader pool and everything else to the
+ * writer. Users inside their {@link ReadYourWritesWindow} read from the writer as well. Must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, since
+ * the transaction's read-only flag is only known after the transaction manager asked for a
+ * connection.
+ *
+ * <p>How long each connection is held is recorded as {@code datasource.route}, tagged with the
+ * route and the reason it was chosen.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+  public static final String TIMER = "datasource.route";
+
+  private static final ThreadLocal<Boolean> READ_SERVICE = new ThreadLocal<>();
+
+  public enum Route {
+    WRITER,
+    READER
+  }
+
+  public enum Reason {
+    WRITE(Route.WRITER),
+    READ_ONLY_TRANSACTION(Route.READER),
+    READ_SERVICE(Route.READER),
+    READ_YOUR_WRITES(Route.WRITER);
+
+    private final Route route;
+
+    Reason(Route route) {
+      this.route = route;
+    }
+
+    public Route route() {
+      return route;
+    }
+  }
+
+  private final ReadYourWritesWindow window;
+  private final Supplier<String> currentUser;
+  private final Supplier<MeterRegistry> meterRegistry;
+  private volatile Map<Reason, Timer> timers;
+
+  public ReadWriteRoutingDataSource(DataSource writer, DataSource reader) {
+    this(writer, reader, new ReadYourWritesWindow(Duration.ZERO, 0), () -> null, () -> null);
+  }
+
+  public ReadWriteRoutingDataSource(
+      DataSource writer,
+      DataSource reader,
+      ReadYourWritesWindow window,
+      Supplier<String> currentUser,
+      Supplier<MeterRegistry> meterRegistry) {
+    this.window = window;
+    this.currentUser = currentUser;
+    this.meterRegistry = meterRegistry;
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Route.WRITER, writer);
+    targets.put(Route.READER, reader);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(writer);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Marks the calling thread as running a read service query, returning whether it already was;
+   * pass that on to {@link #endReadService}.
+   */
+  public static boolean beginReadService() {
+    boolean outer = READ_SERVICE.get() != null;
+    READ_SERVICE.set(Boolean.TRUE);
+    return outer;
+  }
+
+  public static void endReadService(boolean outer) {
+    if (!outer) {
+      READ_SERVICE.remove();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Reason reason = reason();
+    DataSource target = getResolvedDataSources().get(reason.route());
+    return timed(target.getConnection(), reason);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return reason().route();
+  }
+
+  Reason reason() {
+    boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    boolean readService =
+        READ_SERVICE.get() != null
+            && !TransactionSynchronizationManager.isActualTransactionActive();
+    if (!readOnly && !readService) {
+      return Reason.WRITE;
+    }
+    String userId = currentUser.get();
+    if (userId != null && window.isPinned(userId)) {
+      return Reason.READ_YOUR_WRITES;
+    }
+    return readOnly ? Reason.READ_ONLY_TRANSACTION : Reason.READ_SERVICE;
+  }
+
+  private Connection timed(Connection connection, Reason reason) {
+    Map<Reason, Timer> current = timers();
+    if (current == null) {
+      return connection;
+    }
+    Timer timer = current.get(reason);
+    long start = System.nanoTime();
+    boolean[] closed = new boolean[1];
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("close") && !closed[0]) {
+                closed[0] = true;
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+              }
+            });
+  }
+
+  /** Registered on first use, since the registry is not ready yet when the pools are built. */
+  private Map<Reason, Timer> timers() {
+    Map<Reason, Timer> current = timers;
+    if (current == null) {
+      MeterRegistry registry = meterRegistry.get();
+      if (registry == null) {
+        return null;
+      }
+      current = new EnumMap<>(Reason.class);
+      for (Reason reason : Reason.values()) {
+        current.put(
+            reason,
+            Timer.builder(TIMER)
+                .description("Time a connection was held, by route and why it was chosen")
+                .tag("route", reason.route().name().toLowerCase())
+                .tag("reason", reason.name().toLowerCase())
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+      }
+      timers = current;
+    }
+    return current;
+  }
+}
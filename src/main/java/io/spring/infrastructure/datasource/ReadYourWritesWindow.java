@@ -0,0 +1,44 @@
+package io.spring.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Users who wrote within the last {@code window}. Their reads are sent to the writer, so they see
+ * their own changes even when a reader lags behind; the window should cover the worst replica lag.
+ * A zero window turns the pinning off.
+ */
+public class ReadYourWritesWindow {
+  private final Cache<String, Boolean> recentWriters;
+
+  public ReadYourWritesWindow(Duration window, long maximumSize) {
+    this.recentWriters =
+        window.isZero() || window.isNegative()
+            ? null
+            : Caffeine.newBuilder().expireAfterWrite(window).maximumSize(maximumSize).build();
+  }
+
+  /** Starts the window now and, inside a transaction, once more when it commits. */
+  public void recordWrite(String userId) {
+    if (recentWriters == null) {
+      return;
+    }
+    recentWriters.put(userId, Boolean.TRUE);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              recentWriters.put(userId, Boolean.TRUE);
+            }
+          });
+    }
+  }
+
+  public boolean isPinned(String userId) {
+    return recentWriters != null && recentWriters.getIfPresent(userId) != null;
+  }
+}
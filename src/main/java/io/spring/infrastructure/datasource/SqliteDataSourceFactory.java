@@ -0,0 +1,61 @@
+package io.spring.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * Builds Hikari pools over a SQLite file in WAL mode. SQLite allows one writer at a time, so the
+ * writer pool has a single connection and writes queue in Hikari instead of failing with
+ * SQLITE_BUSY; readers open the file read-only and, thanks to WAL, keep reading the last committed
+ * snapshot while a write is in progress.
+ */
+public class SqliteDataSourceFactory {
+  private final String url;
+  private final int cacheSize;
+  private final long mmapSize;
+  private final int busyTimeout;
+
+  public SqliteDataSourceFactory(String url, int cacheSize, long mmapSize, int busyTimeout) {
+    this.url = url;
+    this.cacheSize = cacheSize;
+    this.mmapSize = mmapSize;
+    this.busyTimeout = busyTimeout;
+  }
+
+  public HikariDataSource writer() {
+    return pool("sqlite-writer", 1, false);
+  }
+
+  /** Must be called after {@link #writer()} so the database file exists and is in WAL mode. */
+  public HikariDataSource readers(int size) {
+    return pool("sqlite-reader", size, true);
+  }
+
+  private HikariDataSource pool(String name, int size, boolean readOnly) {
+    SQLiteConfig config = new SQLiteConfig();
+    if (readOnly) {
+      // journal_mode is stored in the database file; only the writer may switch it to WAL
+      config.setReadOnly(true);
+    } else {
+      config.setJournalMode(JournalMode.WAL);
+    }
+    config.setSynchronous(SynchronousMode.NORMAL);
+    config.setCacheSize(cacheSize);
+    config.setBusyTimeout(busyTimeout);
+
+    SQLiteDataSource dataSource = new SQLiteDataSource(config);
+    dataSource.setUrl(url);
+
+    HikariConfig hikari = new HikariConfig();
+    hikari.setPoolName(name);
+    hikari.setDataSource(dataSource);
+    hikari.setMaximumPoolSize(size);
+    hikari.setMinimumIdle(size);
+    hikari.setConnectionInitSql("pragma mmap_size=" + mmapSize);
+    return new HikariDataSource(hikari);
+  }
+}
@@ -0,0 +1,34 @@
+package io.spring.infrastructure.job;
+
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Regenerates the {@code article_summary} read model from the base tables. Disabled by default; set
+ * {@code article-summary.rebuild-cron} to run it on a schedule, or call {@link #rebuild()} directly.
+ */
+@Slf4j
+@Component
+public class ArticleSummaryRebuildJob {
+  private final ArticleSummaryMapper articleSummaryMapper;
+
+  @Autowired
+  public ArticleSummaryRebuildJob(ArticleSummaryMapper articleSummaryMapper) {
+    this.articleSummaryMapper = articleSummaryMapper;
+  }
+
+  @Transactional
+  @Scheduled(cron = "${article-summary.rebuild-cron:-}")
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    articleSummaryMapper.deleteAllTags();
+    articleSummaryMapper.deleteAll();
+    articleSummaryMapper.rebuildAll();
+    articleSummaryMapper.rebuildAllTags();
+    log.info("Rebuilt article_summary in {} ms", System.currentTimeMillis() - start);
+  }
+}
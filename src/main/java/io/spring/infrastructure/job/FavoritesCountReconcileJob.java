@@ -0,0 +1,34 @@
+package io.spring.infrastructure.job;
+
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repairs {@code article_summary.favorites_count} values that drifted from {@code
+ * article_favorites}, e.g. after manual data fixes. Runs on {@code
+ * article-favorites.reconcile-cron}, hourly by default; set the property to {@code -} to disable.
+ */
+@Slf4j
+@Component
+public class FavoritesCountReconcileJob {
+  private final ArticleSummaryMapper articleSummaryMapper;
+
+  @Autowired
+  public FavoritesCountReconcileJob(ArticleSummaryMapper articleSummaryMapper) {
+    this.articleSummaryMapper = articleSummaryMapper;
+  }
+
+  @Transactional
+  @Scheduled(cron = "${article-favorites.reconcile-cron:0 0 * * * *}")
+  public int reconcile() {
+    int repaired = articleSummaryMapper.reconcileFavoritesCount();
+    if (repaired > 0) {
+      log.warn("Repaired favorites_count on {} articles", repaired);
+    }
+    return repaired;
+  }
+}
@@ -0,0 +1,120 @@
+package io.spring.infrastructure.mybatis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Times every mapped statement and records the rows it returned or changed, tagged with the short
+ * statement id such as {@code ArticleReadService.findArticlesWithCursor}. Executions slower than
+ * the configured threshold are logged with their SQL, without parameters.
+ */
+@Slf4j
+@Intercepts({
+  @Signature(
+      type = Executor.class,
+      method = "query",
+      args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+  public static final String TIMER = "mybatis.statement";
+  public static final String ROWS = "mybatis.statement.rows";
+
+  private final MeterRegistry meterRegistry;
+  private final long slowThresholdNanos;
+  private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+  public StatementMetricsInterceptor(MeterRegistry meterRegistry, Duration slowThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.slowThresholdNanos = slowThreshold.toNanos();
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    long start = System.nanoTime();
+    Object result = null;
+    try {
+      result = invocation.proceed();
+      return result;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      int rows = rows(result);
+      Meters statementMeters = meters.computeIfAbsent(statement.getId(), this::register);
+      statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+      statementMeters.rows.record(rows);
+      if (elapsed >= slowThresholdNanos) {
+        Object parameter = invocation.getArgs()[1];
+        log.warn(
+            "Slow statement {} took {} ms ({} rows): {}",
+            statementMeters.name,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            rows,
+            statement.getBoundSql(parameter).getSql().replaceAll("\\s+", " ").trim());
+      }
+    }
+  }
+
+  private Meters register(String statementId) {
+    String name = shortId(statementId);
+    Timer timer =
+        Timer.builder(TIMER)
+            .description("Execution time of a MyBatis mapped statement")
+            .tag("statement", name)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    DistributionSummary rows =
+        DistributionSummary.builder(ROWS)
+            .description("Rows returned or affected by a MyBatis mapped statement")
+            .tag("statement", name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    return new Meters(name, timer, rows);
+  }
+
+  /**
+   * Drops the package, e.g. {@code ...readservice.TagReadService.usage} becomes {@code
+   * TagReadService.usage}.
+   */
+  static String shortId(String statementId) {
+    int method = statementId.lastIndexOf('.');
+    if (method <= 0) {
+      return statementId;
+    }
+    return statementId.substring(statementId.lastIndexOf('.', method - 1) + 1);
+  }
+
+  private static int rows(Object result) {
+    if (result instanceof Collection) {
+      return ((Collection<?>) result).size();
+    }
+    if (result instanceof Integer) {
+      return (Integer) result;
+    }
+    return 0;
+  }
+
+  @AllArgsConstructor
+  private static class Meters {
+    private final String name;
+    private final Timer timer;
+    private final DistributionSummary rows;
+  }
+}
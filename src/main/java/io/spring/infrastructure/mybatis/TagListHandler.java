@@ -0,0 +1,49 @@
+package io.spring.infrastructure.mybatis;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Reads the tag names of an article aggregated into one column with {@code group_concat(name,
+ * char(31))}, so the article comes back as a single row instead of one per tag. The ASCII unit
+ * separator is used rather than a comma, which tag names may well contain. Only used where a result
+ * map names it, since it declares no mapped type.
+ */
+public class TagListHandler implements TypeHandler<List<String>> {
+  public static final String SEPARATOR = "\u001f";
+
+  @Override
+  public void setParameter(PreparedStatement ps, int i, List<String> parameter, JdbcType jdbcType)
+      throws SQLException {
+    ps.setString(i, parameter != null ? String.join(SEPARATOR, parameter) : null);
+  }
+
+  @Override
+  public List<String> getResult(ResultSet rs, String columnName) throws SQLException {
+    return split(rs.getString(columnName));
+  }
+
+  @Override
+  public List<String> getResult(ResultSet rs, int columnIndex) throws SQLException {
+    return split(rs.getString(columnIndex));
+  }
+
+  @Override
+  public List<String> getResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return split(cs.getString(columnIndex));
+  }
+
+  private static List<String> split(String tags) {
+    if (tags == null || tags.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(Arrays.asList(tags.split(SEPARATOR)));
+  }
+}
@@ -10,5 +10,5 @@ public interface ArticleFavoriteMapper {
 
   void insert(@Param("articleFavorite") ArticleFavorite articleFavorite);
 
-  void delete(@Param("favorite") ArticleFavorite favorite);
+  int delete(@Param("favorite") ArticleFavorite favorite);
 }
@@ -2,6 +2,8 @@ package io.spring.infrastructure.mybatis.mapper;
 
 import io.spring.core.article.Article;
 import io.spring.core.article.Tag;
+import java.util.Collection;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -11,11 +13,16 @@ public interface ArticleMapper {
 
   Article findById(@Param("id") String id);
 
+  boolean exists(@Param("id") String id);
+
   Tag findTag(@Param("tagName") String tagName);
 
-  void insertTag(@Param("tag") Tag tag);
+  List<Tag> findTagsByNames(@Param("tagNames") Collection<String> tagNames);
+
+  void insertTagsIfAbsent(@Param("tags") Collection<Tag> tags);
 
-  void insertArticleTagRelation(@Param("articleId") String articleId, @Param("tagId") String tagId);
+  void insertArticleTagRelations(
+      @Param("articleId") String articleId, @Param("tagIds") Collection<String> tagIds);
 
   Article findBySlug(@Param("slug") String slug);
 
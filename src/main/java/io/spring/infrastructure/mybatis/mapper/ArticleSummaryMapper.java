@@ -0,0 +1,35 @@
+package io.spring.infrastructure.mybatis.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Maintains the denormalized {@code article_summary} read model used by the article list queries.
+ * Every statement here is derived from the base tables, so a row can always be rebuilt from them.
+ */
+@Mapper
+public interface ArticleSummaryMapper {
+  void refresh(@Param("articleId") String articleId);
+
+  void refreshTags(@Param("articleId") String articleId);
+
+  void delete(@Param("articleId") String articleId);
+
+  void deleteTags(@Param("articleId") String articleId);
+
+  void updateAuthorUsername(@Param("userId") String userId, @Param("username") String username);
+
+  void incrementFavoritesCount(@Param("articleId") String articleId);
+
+  void decrementFavoritesCount(@Param("articleId") String articleId);
+
+  int reconcileFavoritesCount();
+
+  void deleteAll();
+
+  void deleteAllTags();
+
+  void rebuildAll();
+
+  void rebuildAllTags();
+}
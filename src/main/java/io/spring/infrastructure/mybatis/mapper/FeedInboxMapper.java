@@ -0,0 +1,26 @@
+package io.spring.infrastructure.mybatis.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Maintains {@code feed_inbox}, the per-reader list of articles written by followed authors.
+ * Articles of authors listed in {@code feed_pull_authors} are not copied into inboxes; the feed
+ * query reads them from {@code articles} instead.
+ */
+@Mapper
+public interface FeedInboxMapper {
+  int countFollowers(@Param("authorId") String authorId, @Param("limit") int limit);
+
+  boolean isPullAuthor(@Param("authorId") String authorId);
+
+  void insertPullAuthor(@Param("authorId") String authorId);
+
+  void fanOut(@Param("articleId") String articleId);
+
+  void deleteArticle(@Param("articleId") String articleId);
+
+  void follow(@Param("userId") String userId, @Param("authorId") String authorId);
+
+  void unfollow(@Param("userId") String userId, @Param("authorId") String authorId);
+}
@@ -2,6 +2,7 @@ package io.spring.infrastructure.mybatis.mapper;
 
 import io.spring.core.user.FollowRelation;
 import io.spring.core.user.User;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -19,6 +20,10 @@ public interface UserMapper {
 
   FollowRelation findRelation(@Param("userId") String userId, @Param("targetId") String targetId);
 
+  List<String> findFollowedIds(@Param("userId") String userId);
+
+  List<FollowRelation> findAllRelations();
+
   void saveRelation(@Param("followRelation") FollowRelation followRelation);
 
   void deleteRelation(@Param("followRelation") FollowRelation followRelation);
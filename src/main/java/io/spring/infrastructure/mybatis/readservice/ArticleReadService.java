@@ -3,6 +3,8 @@ package io.spring.infrastructure.mybatis.readservice;
 import io.spring.application.CursorPageParameter;
 import io.spring.application.Page;
 import io.spring.application.data.ArticleData;
+import io.spring.application.data.ArticleSearchMatch;
+import io.spring.application.data.ArticleViewerState;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -13,6 +15,14 @@ public interface ArticleReadService {
 
   ArticleData findBySlug(@Param("slug") String slug);
 
+  ArticleData findDetailById(@Param("id") String id, @Param("viewerId") String viewerId);
+
+  ArticleData findDetailBySlug(@Param("slug") String slug, @Param("viewerId") String viewerId);
+
+  ArticleViewerState findViewerState(@Param("id") String id, @Param("viewerId") String viewerId);
+
+  String findDetailVersionBySlug(@Param("slug") String slug, @Param("viewerId") String viewerId);
+
   List<String> queryArticles(
       @Param("tag") String tag,
       @Param("author") String author,
@@ -26,13 +36,16 @@ public interface ArticleReadService {
 
   List<ArticleData> findArticles(@Param("articleIds") List<String> articleIds);
 
-  List<ArticleData> findArticlesOfAuthors(
-      @Param("authors") List<String> authors, @Param("page") Page page);
+  List<String> findFeedArticleIds(@Param("userId") String userId, @Param("page") Page page);
+
+  List<String> findFeedArticleIdsWithCursor(
+      @Param("userId") String userId, @Param("page") CursorPageParameter page);
+
+  int countFeedSize(@Param("userId") String userId);
 
-  List<ArticleData> findArticlesOfAuthorsWithCursor(
-      @Param("authors") List<String> authors, @Param("page") CursorPageParameter page);
+  List<ArticleSearchMatch> searchArticles(@Param("query") String query, @Param("page") Page page);
 
-  int countFeedSize(@Param("authors") List<String> authors);
+  int countSearchResults(@Param("query") String query);
 
   List<String> findArticlesWithCursor(
       @Param("tag") String tag,
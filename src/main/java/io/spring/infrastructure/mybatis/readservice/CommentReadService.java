@@ -11,7 +11,7 @@ import org.joda.time.DateTime;
 public interface CommentReadService {
   CommentData findById(@Param("id") String id);
 
-  List<CommentData> findByArticleId(@Param("articleId") String articleId);
+  String findVersionByArticleSlug(@Param("slug") String slug, @Param("viewerId") String viewerId);
 
   List<CommentData> findByArticleIdWithCursor(
       @Param("articleId") String articleId, @Param("page") CursorPageParameter<DateTime> page);
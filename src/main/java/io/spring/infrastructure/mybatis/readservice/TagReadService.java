@@ -1,9 +1,10 @@
 package io.spring.infrastructure.mybatis.readservice;
 
+import io.spring.application.data.TagCount;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 
 @Mapper
 public interface TagReadService {
-  List<String> all();
+  List<TagCount> usage();
 }
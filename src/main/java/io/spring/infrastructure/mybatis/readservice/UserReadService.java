@@ -1,6 +1,8 @@
 package io.spring.infrastructure.mybatis.readservice;
 
 import io.spring.application.data.UserData;
+import java.util.Collection;
+import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -10,4 +12,8 @@ public interface UserReadService {
   UserData findByUsername(@Param("username") String username);
 
   UserData findById(@Param("id") String id);
+
+  String findProfileVersion(@Param("username") String username, @Param("viewerId") String viewerId);
+
+  List<UserData> findByUsernames(@Param("usernames") Collection<String> usernames);
 }
@@ -1,25 +1,41 @@
 package io.spring.infrastructure.repository;
 
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
 import io.spring.core.favorite.ArticleFavorite;
 import io.spring.core.favorite.ArticleFavoriteRepository;
 import io.spring.infrastructure.mybatis.mapper.ArticleFavoriteMapper;
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class MyBatisArticleFavoriteRepository implements ArticleFavoriteRepository {
   private ArticleFavoriteMapper mapper;
+  private ArticleSummaryMapper articleSummaryMapper;
+  private ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public MyBatisArticleFavoriteRepository(ArticleFavoriteMapper mapper) {
+  public MyBatisArticleFavoriteRepository(
+      ArticleFavoriteMapper mapper,
+      ArticleSummaryMapper articleSummaryMapper,
+      ApplicationEventPublisher eventPublisher) {
     this.mapper = mapper;
+    this.articleSummaryMapper = articleSummaryMapper;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
+  @Transactional
   public void save(ArticleFavorite articleFavorite) {
     if (mapper.find(articleFavorite.getArticleId(), articleFavorite.getUserId()) == null) {
       mapper.insert(articleFavorite);
+      articleSummaryMapper.incrementFavoritesCount(articleFavorite.getArticleId());
+      eventPublisher.publishEvent(
+          new EntityChangedEvent(Entity.FAVORITE, articleFavorite.getArticleId()));
     }
   }
 
@@ -29,7 +45,11 @@ public class MyBatisArticleFavoriteRepository implements ArticleFavoriteReposito
   }
 
   @Override
+  @Transactional
   public void remove(ArticleFavorite favorite) {
-    mapper.delete(favorite);
+    if (mapper.delete(favorite) > 0) {
+      articleSummaryMapper.decrementFavoritesCount(favorite.getArticleId());
+      eventPublisher.publishEvent(new EntityChangedEvent(Entity.FAVORITE, favorite.getArticleId()));
+    }
   }
 }
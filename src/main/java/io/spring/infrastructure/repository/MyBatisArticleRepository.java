@@ -1,43 +1,115 @@
 package io.spring.infrastructure.repository;
 
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.article.TagUsageChangedEvent;
 import io.spring.core.article.Article;
 import io.spring.core.article.ArticleRepository;
 import io.spring.core.article.Tag;
 import io.spring.infrastructure.mybatis.mapper.ArticleMapper;
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import io.spring.infrastructure.mybatis.mapper.FeedInboxMapper;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class MyBatisArticleRepository implements ArticleRepository {
   private ArticleMapper articleMapper;
+  private ArticleSummaryMapper articleSummaryMapper;
+  private FeedInboxMapper feedInboxMapper;
+  private ApplicationEventPublisher eventPublisher;
+  private int fanoutThreshold;
 
-  public MyBatisArticleRepository(ArticleMapper articleMapper) {
+  public MyBatisArticleRepository(
+      ArticleMapper articleMapper,
+      ArticleSummaryMapper articleSummaryMapper,
+      FeedInboxMapper feedInboxMapper,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${feed.fanout-threshold:10000}") int fanoutThreshold) {
     this.articleMapper = articleMapper;
+    this.articleSummaryMapper = articleSummaryMapper;
+    this.feedInboxMapper = feedInboxMapper;
+    this.eventPublisher = eventPublisher;
+    this.fanoutThreshold = fanoutThreshold;
   }
 
   @Override
   @Transactional
   public void save(Article article) {
-    if (articleMapper.findById(article.getId()) == null) {
+    if (!articleMapper.exists(article.getId())) {
       createNew(article);
     } else {
       articleMapper.update(article);
+      eventPublisher.publishEvent(new EntityChangedEvent(Entity.ARTICLE, article.getId()));
     }
   }
 
+  @Override
+  @Transactional
+  public void create(Article article) {
+    createNew(article);
+  }
+
   private void createNew(Article article) {
-    for (Tag tag : article.getTags()) {
-      Tag targetTag =
-          Optional.ofNullable(articleMapper.findTag(tag.getName()))
-              .orElseGet(
-                  () -> {
-                    articleMapper.insertTag(tag);
-                    return tag;
-                  });
-      articleMapper.insertArticleTagRelation(article.getId(), targetTag.getId());
+    if (!article.getTags().isEmpty()) {
+      articleMapper.insertArticleTagRelations(article.getId(), resolveTagIds(article.getTags()));
     }
     articleMapper.insert(article);
+    articleSummaryMapper.refresh(article.getId());
+    articleSummaryMapper.refreshTags(article.getId());
+    fanOut(article);
+    eventPublisher.publishEvent(new TagUsageChangedEvent(tagNames(article), 1));
+    eventPublisher.publishEvent(new EntityChangedEvent(Entity.TAG, article.getId()));
+  }
+
+  /**
+   * Looks up all tags in one query and inserts only the missing ones. {@code insert or ignore}
+   * keeps a tag created concurrently under another id, so new names are read back afterwards.
+   */
+  private List<String> resolveTagIds(List<Tag> tags) {
+    List<String> names = tags.stream().map(Tag::getName).collect(Collectors.toList());
+    Map<String, String> ids = tagIds(articleMapper.findTagsByNames(names));
+    List<Tag> missing =
+        tags.stream().filter(tag -> !ids.containsKey(tag.getName())).collect(Collectors.toList());
+    if (!missing.isEmpty()) {
+      articleMapper.insertTagsIfAbsent(missing);
+      ids.putAll(
+          tagIds(
+              articleMapper.findTagsByNames(
+                  missing.stream().map(Tag::getName).collect(Collectors.toList()))));
+    }
+    return names.stream().map(ids::get).collect(Collectors.toList());
+  }
+
+  private static Map<String, String> tagIds(List<Tag> tags) {
+    return tags.stream().collect(Collectors.toMap(Tag::getName, Tag::getId, (a, b) -> a));
+  }
+
+  private static List<String> tagNames(Article article) {
+    return article.getTags().stream().map(Tag::getName).collect(Collectors.toList());
+  }
+
+  /**
+   * Copies the article into the inbox of every follower, unless the author has more followers than
+   * {@code feed.fanout-threshold}. Such authors are marked as pull authors once and their articles
+   * are read from {@code articles} when a feed is queried.
+   */
+  private void fanOut(Article article) {
+    String authorId = article.getUserId();
+    if (feedInboxMapper.isPullAuthor(authorId)) {
+      return;
+    }
+    if (feedInboxMapper.countFollowers(authorId, fanoutThreshold + 1) > fanoutThreshold) {
+      feedInboxMapper.insertPullAuthor(authorId);
+    } else {
+      feedInboxMapper.fanOut(article.getId());
+    }
   }
 
   @Override
@@ -51,7 +123,14 @@ public class MyBatisArticleRepository implements ArticleRepository {
   }
 
   @Override
+  @Transactional
   public void remove(Article article) {
     articleMapper.delete(article.getId());
+    articleSummaryMapper.delete(article.getId());
+    articleSummaryMapper.deleteTags(article.getId());
+    feedInboxMapper.deleteArticle(article.getId());
+    eventPublisher.publishEvent(new TagUsageChangedEvent(tagNames(article), -1));
+    eventPublisher.publishEvent(new EntityChangedEvent(Entity.TAG, article.getId()));
+    eventPublisher.publishEvent(new EntityChangedEvent(Entity.ARTICLE, article.getId()));
   }
 }
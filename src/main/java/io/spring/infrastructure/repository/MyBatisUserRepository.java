@@ -1,28 +1,48 @@
 package io.spring.infrastructure.repository;
 
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.user.FollowRelationChangedEvent;
 import io.spring.core.user.FollowRelation;
 import io.spring.core.user.User;
 import io.spring.core.user.UserRepository;
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import io.spring.infrastructure.mybatis.mapper.FeedInboxMapper;
 import io.spring.infrastructure.mybatis.mapper.UserMapper;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class MyBatisUserRepository implements UserRepository {
   private final UserMapper userMapper;
+  private final ArticleSummaryMapper articleSummaryMapper;
+  private final FeedInboxMapper feedInboxMapper;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public MyBatisUserRepository(UserMapper userMapper) {
+  public MyBatisUserRepository(
+      UserMapper userMapper,
+      ArticleSummaryMapper articleSummaryMapper,
+      FeedInboxMapper feedInboxMapper,
+      ApplicationEventPublisher eventPublisher) {
     this.userMapper = userMapper;
+    this.articleSummaryMapper = articleSummaryMapper;
+    this.feedInboxMapper = feedInboxMapper;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
+  @Transactional
   public void save(User user) {
     if (userMapper.findById(user.getId()) == null) {
       userMapper.insert(user);
     } else {
       userMapper.update(user);
+      articleSummaryMapper.updateAuthorUsername(user.getId(), user.getUsername());
+      eventPublisher.publishEvent(new EntityChangedEvent(Entity.USER, user.getId()));
     }
   }
 
@@ -42,9 +62,14 @@ public class MyBatisUserRepository implements UserRepository {
   }
 
   @Override
+  @Transactional
   public void saveRelation(FollowRelation followRelation) {
     if (!findRelation(followRelation.getUserId(), followRelation.getTargetId()).isPresent()) {
       userMapper.saveRelation(followRelation);
+      feedInboxMapper.follow(followRelation.getUserId(), followRelation.getTargetId());
+      eventPublisher.publishEvent(new FollowRelationChangedEvent(followRelation, true));
+      eventPublisher.publishEvent(
+          new EntityChangedEvent(Entity.FOLLOW, followRelation.getUserId()));
     }
   }
 
@@ -54,7 +79,11 @@ public class MyBatisUserRepository implements UserRepository {
   }
 
   @Override
+  @Transactional
   public void removeRelation(FollowRelation followRelation) {
     userMapper.deleteRelation(followRelation);
+    feedInboxMapper.unfollow(followRelation.getUserId(), followRelation.getTargetId());
+    eventPublisher.publishEvent(new FollowRelationChangedEvent(followRelation, false));
+    eventPublisher.publishEvent(new EntityChangedEvent(Entity.FOLLOW, followRelation.getUserId()));
   }
 }
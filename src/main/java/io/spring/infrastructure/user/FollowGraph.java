@@ -0,0 +1,395 @@
+package io.spring.infrastructure.user;
+
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.user.FollowRelationChangedEvent;
+import io.spring.core.user.FollowRelation;
+import io.spring.infrastructure.mybatis.mapper.UserMapper;
+import io.spring.infrastructure.mybatis.readservice.UserRelationshipQueryService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code follows} table held in memory and indexed both ways, answering the relationship
+ * queries without touching the database. User ids are interned to ints and every adjacency list is
+ * a sorted {@code int[]}, so a following check is two hash lookups and a binary search.
+ *
+ * <p>The graph is loaded at startup, kept current by {@link FollowRelationChangedEvent}s once the
+ * publishing transaction has committed, and reloaded every {@code follows.graph.reload-seconds} to
+ * repair any drift. Follows made on other nodes arrive as remote {@link EntityChangedEvent}s, on
+ * which the follower's row is read again. Reloads run on the scheduler while requests keep reading
+ * the current graph; changes arriving meanwhile are replayed on the new graph before it replaces
+ * the old one.
+ */
+@Slf4j
+@Primary
+@Component
+public class FollowGraph implements UserRelationshipQueryService {
+  private final UserMapper userMapper;
+  private volatile Graph graph;
+  private long generation;
+  /** Changes applied while a reload is running, replayed on the reloaded graph. */
+  private List<Consumer<Graph>> pending;
+
+  @Autowired
+  public FollowGraph(UserMapper userMapper) {
+    this.userMapper = userMapper;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    graph();
+  }
+
+  @Override
+  public boolean isUserFollowing(String userId, String anotherUserId) {
+    return graph().contains(userId, anotherUserId);
+  }
+
+  @Override
+  public Set<String> followingAuthors(String userId, List<String> ids) {
+    return graph().following(userId, ids);
+  }
+
+  @Override
+  public List<String> followedUsers(String userId) {
+    return graph().following(userId);
+  }
+
+  public List<String> followers(String userId) {
+    return graph().followers(userId);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFollowRelationChanged(FollowRelationChangedEvent event) {
+    FollowRelation relation = event.getRelation();
+    if (event.isFollowing()) {
+      apply(current -> current.add(relation.getUserId(), relation.getTargetId()));
+    } else {
+      apply(current -> current.remove(relation.getUserId(), relation.getTargetId()));
+    }
+  }
+
+  @EventListener
+  public synchronized void onEntityChanged(EntityChangedEvent event) {
+    if (graph == null || !event.isRemote() || event.getEntity() != Entity.FOLLOW) {
+      return;
+    }
+    List<String> followedIds = userMapper.findFollowedIds(event.getId());
+    apply(current -> current.replaceFollowing(event.getId(), followedIds));
+  }
+
+  /**
+   * Reads the whole table into a new graph without blocking readers of the current one. Only the
+   * first load, when there is no graph yet, makes requests wait.
+   */
+  @Scheduled(
+      initialDelayString = "${follows.graph.reload-seconds:600}",
+      fixedDelayString = "${follows.graph.reload-seconds:600}",
+      timeUnit = TimeUnit.SECONDS)
+  public void reload() {
+    if (graph == null) {
+      graph();
+      return;
+    }
+    long loadGeneration;
+    synchronized (this) {
+      loadGeneration = ++generation;
+      pending = new ArrayList<>();
+    }
+    try {
+      Graph loaded = Graph.of(loadGeneration, userMapper.findAllRelations());
+      synchronized (this) {
+        pending.forEach(change -> change.accept(loaded));
+        graph = loaded;
+      }
+    } catch (RuntimeException e) {
+      log.warn("Reloading the follow graph failed, keeping the current one", e);
+    } finally {
+      synchronized (this) {
+        pending = null;
+      }
+    }
+  }
+
+  private synchronized void apply(Consumer<Graph> change) {
+    Graph current = graph;
+    if (current == null) {
+      return;
+    }
+    change.accept(current);
+    if (pending != null) {
+      pending.add(change);
+    }
+  }
+
+  private Graph graph() {
+    Graph current = graph;
+    return current != null ? current : load();
+  }
+
+  private synchronized Graph load() {
+    if (graph != null) {
+      return graph;
+    }
+    Graph loaded = Graph.of(++generation, userMapper.findAllRelations());
+    graph = loaded;
+    discardOnRollback(loaded.generation);
+    return loaded;
+  }
+
+  /** A load inside a transaction that rolls back may have seen rows that never committed. */
+  private void discardOnRollback(long loadedGeneration) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+              discard(loadedGeneration);
+            }
+          }
+        });
+  }
+
+  private synchronized void discard(long loadedGeneration) {
+    if (graph != null && graph.generation == loadedGeneration) {
+      graph = null;
+    }
+  }
+
+  private static class Graph {
+    private static final int[] EMPTY = new int[0];
+
+    private final long generation;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> index = new HashMap<>();
+    private String[] names = new String[16];
+    private int[][] following = new int[16][];
+    private int[][] followers = new int[16][];
+
+    private Graph(long generation) {
+      this.generation = generation;
+    }
+
+    /** Builds every adjacency list in one pass and sorts it once, instead of inserting per edge. */
+    static Graph of(long generation, List<FollowRelation> relations) {
+      Graph graph = new Graph(generation);
+      int[] from = new int[relations.size()];
+      int[] to = new int[relations.size()];
+      for (int i = 0; i < relations.size(); i++) {
+        from[i] = graph.intern(relations.get(i).getUserId());
+        to[i] = graph.intern(relations.get(i).getTargetId());
+      }
+      graph.following = adjacency(from, to, graph.names.length);
+      graph.followers = adjacency(to, from, graph.names.length);
+      return graph;
+    }
+
+    boolean contains(String userId, String targetId) {
+      lock.readLock().lock();
+      try {
+        Integer user = index.get(userId);
+        Integer target = index.get(targetId);
+        return user != null
+            && target != null
+            && Arrays.binarySearch(row(following, user), target) >= 0;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    Set<String> following(String userId, Collection<String> targetIds) {
+      lock.readLock().lock();
+      try {
+        Set<String> result = new HashSet<>();
+        Integer user = index.get(userId);
+        if (user == null) {
+          return result;
+        }
+        int[] targets = row(following, user);
+        for (String targetId : targetIds) {
+          Integer target = index.get(targetId);
+          if (target != null && Arrays.binarySearch(targets, target) >= 0) {
+            result.add(targetId);
+          }
+        }
+        return result;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    List<String> following(String userId) {
+      return neighbours(following, userId);
+    }
+
+    List<String> followers(String userId) {
+      return neighbours(followers, userId);
+    }
+
+    void add(String userId, String targetId) {
+      lock.writeLock().lock();
+      try {
+        int user = intern(userId);
+        int target = intern(targetId);
+        following[user] = insert(row(following, user), target);
+        followers[target] = insert(row(followers, target), user);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void remove(String userId, String targetId) {
+      lock.writeLock().lock();
+      try {
+        Integer user = index.get(userId);
+        Integer target = index.get(targetId);
+        if (user != null && target != null) {
+          following[user] = delete(row(following, user), target);
+          followers[target] = delete(row(followers, target), user);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void replaceFollowing(String userId, List<String> targetIds) {
+      lock.writeLock().lock();
+      try {
+        int user = intern(userId);
+        for (int target : row(following, user)) {
+          followers[target] = delete(row(followers, target), user);
+        }
+        int[] targets = new int[targetIds.size()];
+        for (int i = 0; i < targets.length; i++) {
+          targets[i] = intern(targetIds.get(i));
+          followers[targets[i]] = insert(row(followers, targets[i]), user);
+        }
+        Arrays.sort(targets);
+        following[user] = distinct(targets);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private List<String> neighbours(int[][] adjacency, String userId) {
+      lock.readLock().lock();
+      try {
+        Integer user = index.get(userId);
+        if (user == null) {
+          return new ArrayList<>();
+        }
+        int[] row = row(adjacency, user);
+        List<String> result = new ArrayList<>(row.length);
+        for (int neighbour : row) {
+          result.add(names[neighbour]);
+        }
+        return result;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private int intern(String userId) {
+      Integer existing = index.get(userId);
+      if (existing != null) {
+        return existing;
+      }
+      int id = index.size();
+      if (id == names.length) {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        following = Arrays.copyOf(following, capacity);
+        followers = Arrays.copyOf(followers, capacity);
+      }
+      names[id] = userId;
+      index.put(userId, id);
+      return id;
+    }
+
+    private static int[] row(int[][] adjacency, int user) {
+      int[] row = user < adjacency.length ? adjacency[user] : null;
+      return row == null ? EMPTY : row;
+    }
+
+    /** Groups {@code to} by {@code from} into sorted, duplicate-free rows. */
+    private static int[][] adjacency(int[] from, int[] to, int size) {
+      int[] degree = new int[size];
+      for (int user : from) {
+        degree[user]++;
+      }
+      int[][] rows = new int[size][];
+      for (int user = 0; user < size; user++) {
+        rows[user] = degree[user] == 0 ? null : new int[degree[user]];
+      }
+      int[] filled = new int[size];
+      for (int i = 0; i < from.length; i++) {
+        rows[from[i]][filled[from[i]]++] = to[i];
+      }
+      for (int user = 0; user < size; user++) {
+        if (rows[user] != null) {
+          Arrays.sort(rows[user]);
+          rows[user] = distinct(rows[user]);
+        }
+      }
+      return rows;
+    }
+
+    private static int[] distinct(int[] sorted) {
+      int length = 0;
+      for (int value : sorted) {
+        if (length == 0 || sorted[length - 1] != value) {
+          sorted[length++] = value;
+        }
+      }
+      return length == sorted.length ? sorted : Arrays.copyOf(sorted, length);
+    }
+
+    private static int[] insert(int[] row, int value) {
+      int position = Arrays.binarySearch(row, value);
+      if (position >= 0) {
+        return row;
+      }
+      position = -position - 1;
+      int[] result = new int[row.length + 1];
+      System.arraycopy(row, 0, result, 0, position);
+      result[position] = value;
+      System.arraycopy(row, position, result, position + 1, row.length - position);
+      return result;
+    }
+
+    private static int[] delete(int[] row, int value) {
+      int position = Arrays.binarySearch(row, value);
+      if (position < 0) {
+        return row;
+      }
+      int[] result = new int[row.length - 1];
+      System.arraycopy(row, 0, result, 0, position);
+      System.arraycopy(row, position + 1, result, position, row.length - position - 1);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+create table article_summary (
+  article_id varchar(255) primary key,
+  user_id varchar(255),
+  author_username varchar(255),
+  favorites_count integer not null default 0,
+  created_at TIMESTAMP NOT NULL
+);
+
+create index article_summary_created_at on article_summary(created_at, article_id);
+create index article_summary_author on article_summary(author_username, created_at);
+create index article_summary_user on article_summary(user_id);
+
+create table article_summary_tags (
+  tag_name varchar(255) not null,
+  created_at TIMESTAMP NOT NULL,
+  article_id varchar(255) not null,
+  primary key(tag_name, created_at, article_id)
+);
+
+create index article_summary_tags_article on article_summary_tags(article_id);
+
+insert into article_summary (article_id, user_id, author_username, favorites_count, created_at)
+select
+  A.id,
+  A.user_id,
+  U.username,
+  (select count(1) from article_favorites AF where AF.article_id = A.id),
+  A.created_at
+from articles A
+left join users U on U.id = A.user_id;
+
+insert or ignore into article_summary_tags (tag_name, created_at, article_id)
+select T.name, A.created_at, A.id
+from articles A
+join article_tags AT on AT.article_id = A.id
+join tags T on T.id = AT.tag_id;
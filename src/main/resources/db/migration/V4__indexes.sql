@@ -0,0 +1,13 @@
+create index follows_user_follow on follows(user_id, follow_id);
+
+create index article_tags_article on article_tags(article_id, tag_id);
+create index article_tags_tag on article_tags(tag_id);
+
+create index comments_article_created_at on comments(article_id, created_at);
+
+create index articles_user_created_at on articles(user_id, created_at);
+create index articles_created_at on articles(created_at, id);
+
+create index tags_name on tags(name);
+
+create index article_favorites_user on article_favorites(user_id, article_id);
@@ -0,0 +1,21 @@
+create table feed_inbox (
+  user_id varchar(255) not null,
+  created_at TIMESTAMP NOT NULL,
+  article_id varchar(255) not null,
+  author_id varchar(255) not null,
+  primary key(user_id, created_at, article_id)
+);
+
+create index feed_inbox_article on feed_inbox(article_id);
+create index feed_inbox_author on feed_inbox(user_id, author_id);
+
+create table feed_pull_authors (
+  author_id varchar(255) primary key
+);
+
+create index follows_follow on follows(follow_id, user_id);
+
+insert or ignore into feed_inbox (user_id, created_at, article_id, author_id)
+select F.user_id, A.created_at, A.id, A.user_id
+from follows F
+join articles A on A.user_id = F.follow_id;
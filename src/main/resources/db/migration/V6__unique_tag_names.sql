@@ -0,0 +1,15 @@
+-- Point relations at the tag with the smallest id of each name, drop the duplicates, then make
+-- names unique so article creation can insert tags with "insert or ignore". Ids are random UUIDs,
+-- so which duplicate survives is arbitrary; they only differ by id.
+update article_tags
+set tag_id = (
+  select min(T2.id) from tags T1 join tags T2 on T2.name = T1.name where T1.id = article_tags.tag_id
+)
+where tag_id in (
+  select T.id from tags T where exists (select 1 from tags D where D.name = T.name and D.id < T.id)
+);
+
+delete from tags where exists (select 1 from tags D where D.name = tags.name and D.id < tags.id);
+
+drop index tags_name;
+create unique index tags_name on tags(name);
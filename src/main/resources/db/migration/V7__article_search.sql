@@ -0,0 +1,30 @@
+-- Full-text index over articles, stored as an external-content FTS5 table keyed by the articles
+-- rowid. The triggers keep it in sync; after a VACUUM, which may renumber the rowids, run
+-- insert into article_search(article_search) values ('rebuild').
+create virtual table article_search using fts5(
+  title,
+  description,
+  body,
+  content = 'articles',
+  content_rowid = 'rowid',
+  tokenize = 'porter unicode61'
+);
+
+create trigger article_search_insert after insert on articles begin
+  insert into article_search (rowid, title, description, body)
+  values (new.rowid, new.title, new.description, new.body);
+end;
+
+create trigger article_search_delete after delete on articles begin
+  insert into article_search (article_search, rowid, title, description, body)
+  values ('delete', old.rowid, old.title, old.description, old.body);
+end;
+
+create trigger article_search_update after update of title, description, body on articles begin
+  insert into article_search (article_search, rowid, title, description, body)
+  values ('delete', old.rowid, old.title, old.description, old.body);
+  insert into article_search (rowid, title, description, body)
+  values (new.rowid, new.title, new.description, new.body);
+end;
+
+insert into article_search (article_search) values ('rebuild');
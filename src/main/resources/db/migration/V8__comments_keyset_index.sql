@@ -0,0 +1,4 @@
+-- Comment pages are ordered by (created_at, id); carrying the id in the index lets the keyset
+-- condition and the tie-breaking order be answered without sorting the article's comments.
+drop index comments_article_created_at;
+create index comments_article_created_at on comments(article_id, created_at, id);
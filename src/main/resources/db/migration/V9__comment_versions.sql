@@ -0,0 +1,45 @@
+-- Versions behind the comments ETag, kept by triggers so it is a few primary-key lookups however
+-- long the thread: per article the comment count and a version bumped when one of its commenters
+-- edits their profile, per user a version bumped when they follow or unfollow someone.
+create table comment_threads (
+  article_id varchar(255) primary key,
+  comments_count integer not null default 0,
+  commenters_version integer not null default 0
+);
+
+create index comments_user on comments(user_id, article_id);
+
+insert into comment_threads (article_id, comments_count)
+select C.article_id, count(1) from comments C group by C.article_id;
+
+create trigger comment_threads_insert after insert on comments begin
+  insert or ignore into comment_threads (article_id) values (new.article_id);
+  update comment_threads set comments_count = comments_count + 1
+  where article_id = new.article_id;
+end;
+
+create trigger comment_threads_delete after delete on comments begin
+  update comment_threads set comments_count = comments_count - 1
+  where article_id = old.article_id;
+end;
+
+create trigger comment_threads_commenter after update of username, bio, image on users
+when old.username is not new.username or old.bio is not new.bio or old.image is not new.image
+begin
+  update comment_threads set commenters_version = commenters_version + 1
+  where article_id in (select C.article_id from comments C where C.user_id = new.id);
+end;
+
+create table follow_versions (
+  user_id varchar(255) primary key,
+  version integer not null default 0
+);
+
+create trigger follow_versions_insert after insert on follows begin
+  insert or ignore into follow_versions (user_id) values (new.user_id);
+  update follow_versions set version = version + 1 where user_id = new.user_id;
+end;
+
+create trigger follow_versions_delete after delete on follows begin
+  update follow_versions set version = version + 1 where user_id = old.user_id;
+end;
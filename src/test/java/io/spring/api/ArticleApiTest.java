@@ -5,6 +5,7 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,6 +78,22 @@ public class ArticleApiTest extends TestWithCurrentUser {
         .body("article.createdAt", equalTo(ISODateTimeFormat.dateTime().withZoneUTC().print(time)));
   }
 
+  @Test
+  public void should_return_not_modified_for_matching_etag() throws Exception {
+    String slug = "test-new-article";
+    when(articleQueryService.findETagBySlug(eq(slug), eq(null))).thenReturn(Optional.of("\"v1\""));
+
+    given()
+        .header("If-None-Match", "\"v1\"")
+        .when()
+        .get("/articles/{slug}", slug)
+        .then()
+        .statusCode(304)
+        .header("ETag", "\"v1\"");
+
+    verify(articleQueryService, never()).findBySlug(anyString(), any());
+  }
+
   @Test
   public void should_404_if_article_not_found() throws Exception {
     when(articleQueryService.findBySlug(anyString(), any())).thenReturn(Optional.empty());
@@ -11,6 +11,9 @@ import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import io.spring.JacksonCustomizations;
 import io.spring.api.security.WebSecurityConfig;
 import io.spring.application.CommentQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
 import io.spring.application.data.CommentData;
 import io.spring.application.data.ProfileData;
 import io.spring.core.article.Article;
@@ -118,14 +121,41 @@ public class CommentsApiTest extends TestWithCurrentUser {
 
   @Test
   public void should_get_comments_of_article_success() throws Exception {
-    when(commentQueryService.findByArticleId(anyString(), eq(null)))
-        .thenReturn(Arrays.asList(commentData));
+    when(commentQueryService.findByArticleIdWithCursor(
+            anyString(), eq(null), eq(new CursorPageParameter<>(null, null, 20, Direction.NEXT))))
+        .thenReturn(new CursorPager<>(Arrays.asList(commentData), Direction.NEXT, false));
     RestAssuredMockMvc.when()
         .get("/articles/{slug}/comments", article.getSlug())
         .prettyPeek()
         .then()
         .statusCode(200)
-        .body("comments[0].id", equalTo(commentData.getId()));
+        .body("comments[0].id", equalTo(commentData.getId()))
+        .body("nextCursor", equalTo(null));
+  }
+
+  @Test
+  public void should_cap_comment_page_size() throws Exception {
+    when(commentQueryService.findByArticleIdWithCursor(
+            anyString(), eq(null), eq(new CursorPageParameter<>(null, null, 100, Direction.NEXT))))
+        .thenReturn(new CursorPager<>(Arrays.asList(commentData), Direction.NEXT, true));
+    given()
+        .queryParam("limit", 5000)
+        .when()
+        .get("/articles/{slug}/comments", article.getSlug())
+        .then()
+        .statusCode(200)
+        .body("nextCursor", equalTo(commentData.getCursor().toString()));
+  }
+
+  @Test
+  public void should_reject_malformed_cursor() throws Exception {
+    given()
+        .queryParam("cursor", "not-a-cursor")
+        .when()
+        .get("/articles/{slug}/comments", article.getSlug())
+        .then()
+        .statusCode(400)
+        .body("message", equalTo("invalid cursor not-a-cursor"));
   }
 
   @Test
@@ -3,6 +3,9 @@ package io.spring.api;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static io.spring.TestHelper.articleDataFixture;
 import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -10,8 +13,12 @@ import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import io.spring.JacksonCustomizations;
 import io.spring.api.security.WebSecurityConfig;
 import io.spring.application.ArticleQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
 import io.spring.application.Page;
 import io.spring.application.article.ArticleCommandService;
+import io.spring.application.data.ArticleData;
 import io.spring.application.data.ArticleDataList;
 import io.spring.core.article.ArticleRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,6 +58,70 @@ public class ListArticleApiTest extends TestWithCurrentUser {
     RestAssuredMockMvc.when().get("/articles").prettyPeek().then().statusCode(200);
   }
 
+  @Test
+  public void should_get_article_list_by_cursor() throws Exception {
+    ArticleData last = articleDataFixture("2", user);
+    CursorPager<ArticleData> pager =
+        new CursorPager<>(asList(articleDataFixture("1", user), last), Direction.NEXT, true);
+    when(articleQueryService.findRecentArticlesWithCursor(
+            eq(null),
+            eq(null),
+            eq(null),
+            eq(new CursorPageParameter<>(null, null, 2, Direction.NEXT)),
+            eq(null)))
+        .thenReturn(pager);
+
+    RestAssuredMockMvc.given()
+        .queryParam("cursor", "")
+        .queryParam("limit", 2)
+        .when()
+        .get("/articles")
+        .then()
+        .statusCode(200)
+        .body("articles.size()", equalTo(2))
+        .body("nextCursor", equalTo(last.getCursor().toString()));
+  }
+
+  @Test
+  public void should_cap_cursor_page_size() throws Exception {
+    when(articleQueryService.findRecentArticlesWithCursor(
+            eq(null),
+            eq(null),
+            eq(null),
+            eq(new CursorPageParameter<>(null, null, 100, Direction.NEXT)),
+            eq(null)))
+        .thenReturn(
+            new CursorPager<>(asList(articleDataFixture("1", user)), Direction.NEXT, false));
+
+    RestAssuredMockMvc.given()
+        .queryParam("cursor", "")
+        .queryParam("limit", 1000)
+        .when()
+        .get("/articles")
+        .then()
+        .statusCode(200)
+        .body("articles.size()", equalTo(1));
+  }
+
+  @Test
+  public void should_leave_out_excluded_fields() throws Exception {
+    ArticleDataList articleDataList =
+        new ArticleDataList(asList(articleDataFixture("1", user)), 1);
+    when(articleQueryService.findRecentArticles(
+            eq(null), eq(null), eq(null), eq(new Page(0, 20)), eq(null)))
+        .thenReturn(articleDataList);
+
+    given()
+        .queryParam("fields", "-body")
+        .when()
+        .get("/articles")
+        .then()
+        .statusCode(200)
+        .body("articles[0]", not(hasKey("body")))
+        .body("articles[0].title", equalTo("title 1"))
+        .body("articlesCount", equalTo(1));
+  }
+
   @Test
   public void should_get_feeds_401_without_login() throws Exception {
     RestAssuredMockMvc.when().get("/articles/feed").prettyPeek().then().statusCode(401);
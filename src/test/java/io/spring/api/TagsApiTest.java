@@ -0,0 +1,65 @@
+package io.spring.api;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.spring.JacksonCustomizations;
+import io.spring.api.security.WebSecurityConfig;
+import io.spring.application.TagsQueryService;
+import io.spring.application.data.PopularTags;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TagsApi.class)
+@Import({WebSecurityConfig.class, JacksonCustomizations.class})
+public class TagsApiTest extends TestWithCurrentUser {
+  @Autowired private MockMvc mvc;
+
+  @MockBean private TagsQueryService tagsQueryService;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    super.setUp();
+    RestAssuredMockMvc.mockMvc(mvc);
+    when(tagsQueryService.popularTags(eq(Integer.MAX_VALUE)))
+        .thenReturn(new PopularTags(Arrays.asList("java", "spring"), "\"abc\"", 1000000000000L));
+  }
+
+  @Test
+  public void should_get_popular_tags_with_validators() throws Exception {
+    RestAssuredMockMvc.when()
+        .get("/tags")
+        .then()
+        .statusCode(200)
+        .header("ETag", "\"abc\"")
+        .header("Last-Modified", "Sun, 09 Sep 2001 01:46:40 GMT")
+        .body("tags[0]", equalTo("java"));
+  }
+
+  @Test
+  public void should_limit_tags_on_request() throws Exception {
+    when(tagsQueryService.popularTags(eq(1)))
+        .thenReturn(new PopularTags(Arrays.asList("java"), "\"def\"", 1000000000000L));
+    given()
+        .queryParam("limit", 1)
+        .when()
+        .get("/tags")
+        .then()
+        .statusCode(200)
+        .body("tags.size()", equalTo(1));
+  }
+
+  @Test
+  public void should_return_not_modified_for_matching_etag() throws Exception {
+    given().header("If-None-Match", "\"abc\"").when().get("/tags").then().statusCode(304);
+  }
+}
@@ -3,6 +3,7 @@ package io.spring.api;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import io.spring.api.security.JwtAuthenticationCache;
 import io.spring.application.data.UserData;
 import io.spring.core.service.JwtService;
 import io.spring.core.user.User;
@@ -10,6 +11,7 @@ import io.spring.core.user.UserRepository;
 import io.spring.infrastructure.mybatis.readservice.UserReadService;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 abstract class TestWithCurrentUser {
@@ -26,6 +28,8 @@ abstract class TestWithCurrentUser {
 
   @MockBean protected JwtService jwtService;
 
+  @Autowired protected JwtAuthenticationCache jwtAuthenticationCache;
+
   protected void userFixture() {
     email = "john@jacob.com";
     username = "johnjacob";
@@ -44,6 +48,7 @@ abstract class TestWithCurrentUser {
 
   @BeforeEach
   public void setUp() throws Exception {
+    jwtAuthenticationCache.invalidateAll();
     userFixture();
   }
 }
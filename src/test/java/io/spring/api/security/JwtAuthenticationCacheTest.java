@@ -0,0 +1,98 @@
+package io.spring.api.security;
+
+import io.spring.application.user.UserUpdatedEvent;
+import io.spring.core.service.JwtService;
+import io.spring.core.user.User;
+import io.spring.infrastructure.service.DefaultJwtService;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JwtAuthenticationCacheTest {
+  private JwtService jwtService;
+  private JwtAuthenticationCache cache;
+  private User user;
+  private AtomicInteger lookups;
+  private Function<String, Optional<User>> authenticator;
+
+  @BeforeEach
+  public void setUp() {
+    jwtService =
+        new DefaultJwtService("123123123123123123123123123123123123123123123123123123123123", 3600);
+    cache = new JwtAuthenticationCache(100, Duration.ofMinutes(5));
+    user = new User("email@email.com", "username", "123", "", "");
+    lookups = new AtomicInteger();
+    authenticator =
+        token -> {
+          lookups.incrementAndGet();
+          return jwtService
+              .getSubFromToken(token)
+              .filter(id -> id.equals(user.getId()))
+              .map(id -> user);
+        };
+  }
+
+  @Test
+  public void should_skip_authentication_for_repeated_token() {
+    String token = jwtService.toToken(user);
+
+    Assertions.assertEquals(Optional.of(user), cache.get(token, authenticator));
+    Assertions.assertEquals(Optional.of(user), cache.get(token, authenticator));
+
+    Assertions.assertEquals(1, lookups.get());
+    Assertions.assertEquals(1, cache.hitCount());
+    Assertions.assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void should_not_cache_rejected_token() {
+    Assertions.assertFalse(cache.get("123", authenticator).isPresent());
+    Assertions.assertFalse(cache.get("123", authenticator).isPresent());
+
+    Assertions.assertEquals(2, lookups.get());
+  }
+
+  @Test
+  public void should_drop_entries_when_user_updated() {
+    String token = jwtService.toToken(user);
+    cache.get(token, authenticator);
+
+    cache.onUserUpdated(new UserUpdatedEvent(user.getId()));
+    cache.get(token, authenticator);
+
+    Assertions.assertEquals(2, lookups.get());
+  }
+
+  @Test
+  public void should_not_share_cached_user_with_callers() {
+    String token = jwtService.toToken(user);
+    cache.get(token, authenticator).get().update("changed@email.com", "", "", "", "");
+    user.update("", "changed", "", "", "");
+
+    User cached = cache.get(token, authenticator).get();
+
+    Assertions.assertEquals("email@email.com", cached.getEmail());
+    Assertions.assertEquals("username", cached.getUsername());
+    Assertions.assertEquals(1, lookups.get());
+  }
+
+  @Test
+  public void should_not_cache_user_loaded_before_its_update() {
+    String token = jwtService.toToken(user);
+    Function<String, Optional<User>> racingUpdate =
+        t -> {
+          Optional<User> loaded = authenticator.apply(t);
+          cache.onUserUpdated(new UserUpdatedEvent(user.getId()));
+          return loaded;
+        };
+
+    Assertions.assertTrue(cache.get(token, racingUpdate).isPresent());
+    cache.get(token, authenticator);
+
+    Assertions.assertEquals(2, lookups.get());
+  }
+}
@@ -0,0 +1,121 @@
+package io.spring.application;
+
+import static org.mockito.Mockito.mock;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.spring.infrastructure.datasource.ReadWriteRoutingDataSource;
+import io.spring.infrastructure.datasource.SqliteDataSourceFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class EnrichmentExecutorTest {
+  @TempDir Path dir;
+
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+
+  @Test
+  public void should_run_tasks_concurrently_when_parallel() throws Exception {
+    EnrichmentExecutor executor = new EnrichmentExecutor(transactionManager, true, 4, false, 4);
+    CountDownLatch allStarted = new CountDownLatch(3);
+    Runnable task =
+        () -> {
+          allStarted.countDown();
+          try {
+            Assertions.assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+        };
+
+    executor.runAll(task, task, task);
+
+    Assertions.assertEquals(0, allStarted.getCount());
+    executor.destroy();
+  }
+
+  @Test
+  public void should_rethrow_task_failure() throws Exception {
+    EnrichmentExecutor executor = new EnrichmentExecutor(transactionManager, true, 4, false, 4);
+    Runnable failing =
+        () -> {
+          throw new IllegalArgumentException("boom");
+        };
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> executor.runAll(failing, () -> {}));
+    executor.destroy();
+  }
+
+  @Test
+  public void should_run_in_order_on_caller_thread_by_default() {
+    EnrichmentExecutor executor = new EnrichmentExecutor(transactionManager, false, 4, false, 4);
+    AtomicInteger order = new AtomicInteger();
+    Thread caller = Thread.currentThread();
+
+    executor.runAll(
+        () -> Assertions.assertEquals(0, order.getAndIncrement()),
+        () -> {
+          Assertions.assertSame(caller, Thread.currentThread());
+          Assertions.assertEquals(1, order.getAndIncrement());
+        });
+
+    Assertions.assertEquals(2, order.get());
+  }
+
+  @Test
+  public void should_not_deadlock_concurrent_callers_on_the_reader_pool() throws Exception {
+    SqliteDataSourceFactory factory =
+        new SqliteDataSourceFactory("jdbc:sqlite:" + dir.resolve("test.db"), -2000, 0, 1000);
+    HikariDataSource writer = factory.writer();
+    HikariDataSource readers = factory.readers(3);
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writer, readers));
+    DataSourceTransactionManager routedTransactions = new DataSourceTransactionManager(dataSource);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table counter (value integer)");
+    TransactionTemplate readTransaction = new TransactionTemplate(routedTransactions);
+    readTransaction.setReadOnly(true);
+    EnrichmentExecutor executor = new EnrichmentExecutor(routedTransactions, true, 4, false, 3);
+    Runnable read = () -> jdbcTemplate.queryForObject("select count(1) from counter", Long.class);
+
+    // Eight callers each hold a reader of the three while their pages are enriched
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> requests = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        requests.add(
+            callers.submit(
+                () ->
+                    readTransaction.executeWithoutResult(
+                        status -> {
+                          read.run();
+                          executor.runAll(read, read, read);
+                        })));
+      }
+      for (Future<?> request : requests) {
+        request.get(20, TimeUnit.SECONDS);
+      }
+    } finally {
+      callers.shutdownNow();
+      executor.destroy();
+      readers.close();
+      writer.close();
+    }
+  }
+}
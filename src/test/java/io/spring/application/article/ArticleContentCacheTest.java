@@ -0,0 +1,134 @@
+package io.spring.application.article;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.application.ArticleContentCache;
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.data.ArticleData;
+import io.spring.application.data.ProfileData;
+import io.spring.infrastructure.mybatis.readservice.ArticleReadService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ArticleContentCacheTest {
+  private ArticleReadService articleReadService;
+  private ArticleContentCache cache;
+  private ArticleData first;
+  private ArticleData second;
+
+  @BeforeEach
+  public void setUp() {
+    articleReadService = mock(ArticleReadService.class);
+    cache =
+        new ArticleContentCache(
+            articleReadService,
+            new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class),
+            true,
+            100,
+            300);
+    DateTime now = new DateTime();
+    first = article("1", "author1", now.minusMinutes(1));
+    second = article("2", "author2", now);
+  }
+
+  @Test
+  public void should_load_articles_once_and_hand_out_copies() {
+    when(articleReadService.findArticles(anyList())).thenReturn(Arrays.asList(second, first));
+
+    List<ArticleData> loaded = cache.findArticles(Arrays.asList("1", "2"));
+    loaded.get(0).setFavorited(true);
+    loaded.get(0).getProfileData().setFollowing(true);
+    List<ArticleData> cached = cache.findArticles(Arrays.asList("2", "1"));
+
+    Assertions.assertEquals("2", cached.get(0).getId());
+    Assertions.assertEquals("1", cached.get(1).getId());
+    Assertions.assertFalse(cached.get(0).isFavorited());
+    Assertions.assertFalse(cached.get(0).getProfileData().isFollowing());
+    verify(articleReadService, times(1)).findArticles(anyList());
+  }
+
+  @Test
+  public void should_drop_changed_articles() {
+    when(articleReadService.findById("1")).thenReturn(first);
+    cache.findById("1");
+    Assertions.assertTrue(cache.findBySlug("slug-1").isPresent());
+
+    cache.onEntityChanged(new EntityChangedEvent(Entity.ARTICLE, "1"));
+    cache.findById("1");
+
+    verify(articleReadService, times(2)).findById("1");
+  }
+
+  @Test
+  public void should_drop_articles_of_updated_author() {
+    when(articleReadService.findArticles(anyList())).thenReturn(Arrays.asList(second, first));
+    cache.findArticles(Arrays.asList("1", "2"));
+
+    cache.onEntityChanged(new EntityChangedEvent(Entity.USER, "author1"));
+
+    Assertions.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void should_not_cache_a_load_racing_an_invalidation() {
+    when(articleReadService.findById("1"))
+        .thenAnswer(
+            invocation -> {
+              cache.invalidate("1");
+              return first;
+            });
+
+    Assertions.assertTrue(cache.findById("1").isPresent());
+    cache.findById("1");
+
+    verify(articleReadService, times(2)).findById("1");
+  }
+
+  @Test
+  public void should_not_cache_articles_invalidated_after_the_read_began() {
+    when(articleReadService.findArticles(anyList())).thenReturn(Arrays.asList(second, first));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.beginRead();
+      cache.onEntityChanged(new EntityChangedEvent(Entity.USER, "author1"));
+      cache.findArticles(Arrays.asList("1", "2"));
+    } finally {
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    Assertions.assertEquals(0, cache.size());
+    cache.findArticles(Arrays.asList("1", "2"));
+    Assertions.assertEquals(2, cache.size());
+  }
+
+  private static ArticleData article(String id, String authorId, DateTime createdAt) {
+    return new ArticleData(
+        id,
+        "slug-" + id,
+        "title " + id,
+        "desc",
+        "body",
+        false,
+        0,
+        createdAt,
+        createdAt,
+        new ArrayList<>(),
+        new ProfileData(authorId, "user" + authorId, "", "", false));
+  }
+}
@@ -1,13 +1,16 @@
 package io.spring.application.article;
 
+import io.spring.application.ArticleContentCache;
 import io.spring.application.ArticleQueryService;
 import io.spring.application.CursorPageParameter;
 import io.spring.application.CursorPager;
 import io.spring.application.CursorPager.Direction;
 import io.spring.application.DateTimeCursor;
+import io.spring.application.EnrichmentExecutor;
 import io.spring.application.Page;
 import io.spring.application.data.ArticleData;
 import io.spring.application.data.ArticleDataList;
+import io.spring.application.data.ArticleSearchResult;
 import io.spring.core.article.Article;
 import io.spring.core.article.ArticleRepository;
 import io.spring.core.favorite.ArticleFavorite;
@@ -16,11 +19,25 @@ import io.spring.core.user.FollowRelation;
 import io.spring.core.user.User;
 import io.spring.core.user.UserRepository;
 import io.spring.infrastructure.DbTestBase;
+import io.spring.infrastructure.mybatis.mapper.ArticleMapper;
 import io.spring.infrastructure.repository.MyBatisArticleFavoriteRepository;
 import io.spring.infrastructure.repository.MyBatisArticleRepository;
 import io.spring.infrastructure.repository.MyBatisUserRepository;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,9 +47,12 @@ import org.springframework.context.annotation.Import;
 
 @Import({
   ArticleQueryService.class,
+  ArticleContentCache.class,
+  EnrichmentExecutor.class,
   MyBatisUserRepository.class,
   MyBatisArticleRepository.class,
-  MyBatisArticleFavoriteRepository.class
+  MyBatisArticleFavoriteRepository.class,
+  ArticleQueryServiceTest.StatementRecorder.class
 })
 public class ArticleQueryServiceTest extends DbTestBase {
   @Autowired private ArticleQueryService queryService;
@@ -43,6 +63,10 @@ public class ArticleQueryServiceTest extends DbTestBase {
 
   @Autowired private ArticleFavoriteRepository articleFavoriteRepository;
 
+  @Autowired private StatementRecorder statementRecorder;
+
+  @Autowired private ArticleMapper articleMapper;
+
   private User user;
   private Article article;
 
@@ -56,6 +80,59 @@ public class ArticleQueryServiceTest extends DbTestBase {
     articleRepository.save(article);
   }
 
+  @Test
+  public void should_serve_updated_article_after_cached_read() {
+    queryService.findBySlug(article.getSlug(), user);
+
+    String oldSlug = article.getSlug();
+    article.update("new title", "", "");
+    articleRepository.save(article);
+
+    Assertions.assertFalse(queryService.findBySlug(oldSlug, user).isPresent());
+    ArticleData fetched = queryService.findById(article.getId(), null).get();
+    Assertions.assertEquals("new title", fetched.getTitle());
+    Assertions.assertEquals(
+        "new title", queryService.findBySlug(article.getSlug(), null).get().getTitle());
+  }
+
+  @Test
+  public void should_read_cached_article_detail_with_one_statement() {
+    User viewer = new User("viewer@test.com", "viewer", "123", "", "");
+    userRepository.save(viewer);
+    userRepository.saveRelation(new FollowRelation(viewer.getId(), user.getId()));
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), viewer.getId()));
+    queryService.findBySlug(article.getSlug(), viewer);
+
+    statementRecorder.reset();
+    ArticleData fetched = queryService.findBySlug(article.getSlug(), viewer).get();
+
+    Assertions.assertEquals(
+        Arrays.asList("ArticleReadService.findViewerState"), statementRecorder.snapshot());
+    Assertions.assertTrue(fetched.isFavorited());
+    Assertions.assertEquals(1, fetched.getFavoritesCount());
+    Assertions.assertTrue(fetched.getProfileData().isFollowing());
+  }
+
+  @Test
+  public void should_not_serve_cached_article_older_than_its_row() {
+    Article older =
+        new Article(
+            "older",
+            "desc",
+            "body",
+            Arrays.asList("java"),
+            user.getId(),
+            new DateTime().minusDays(1));
+    articleRepository.save(older);
+    queryService.findBySlug(older.getSlug(), user);
+
+    older.update("", "", "new body");
+    articleMapper.update(older);
+
+    Assertions.assertEquals(
+        "new body", queryService.findBySlug(older.getSlug(), user).get().getBody());
+  }
+
   @Test
   public void should_fetch_article_success() {
     Optional<ArticleData> optional = queryService.findById(article.getId(), user);
@@ -83,6 +160,79 @@ public class ArticleQueryServiceTest extends DbTestBase {
     Assertions.assertTrue(articleData.isFavorited());
   }
 
+  @Test
+  public void should_fetch_article_detail_with_viewer_flags() {
+    User anotherUser = new User("other@test.com", "other", "123", "", "");
+    userRepository.save(anotherUser);
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), anotherUser.getId()));
+    userRepository.saveRelation(new FollowRelation(anotherUser.getId(), user.getId()));
+
+    ArticleData viewed = queryService.findBySlug(article.getSlug(), anotherUser).get();
+    Assertions.assertTrue(viewed.isFavorited());
+    Assertions.assertEquals(1, viewed.getFavoritesCount());
+    Assertions.assertTrue(viewed.getProfileData().isFollowing());
+    Assertions.assertEquals(2, viewed.getTagList().size());
+
+    ArticleData anonymous = queryService.findBySlug(article.getSlug(), null).get();
+    Assertions.assertFalse(anonymous.isFavorited());
+    Assertions.assertEquals(1, anonymous.getFavoritesCount());
+    Assertions.assertFalse(anonymous.getProfileData().isFollowing());
+  }
+
+  @Test
+  public void should_change_etag_when_viewer_favorites_article() {
+    User anotherUser = new User("other@test.com", "other", "123", "", "");
+    userRepository.save(anotherUser);
+
+    String before = queryService.findETagBySlug(article.getSlug(), anotherUser).get();
+    Assertions.assertEquals(
+        before, queryService.findETagBySlug(article.getSlug(), anotherUser).get());
+
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), anotherUser.getId()));
+    Assertions.assertNotEquals(
+        before, queryService.findETagBySlug(article.getSlug(), anotherUser).get());
+    Assertions.assertFalse(queryService.findETagBySlug("not-exists", anotherUser).isPresent());
+  }
+
+  @Test
+  public void should_search_articles_by_full_text() {
+    Article mybatis =
+        new Article(
+            "Persistence notes",
+            "about mappers",
+            "Using mybatis with sqlite",
+            Arrays.asList("java"),
+            user.getId());
+    articleRepository.save(mybatis);
+
+    ArticleSearchResult result = queryService.searchArticles("MyBatis", new Page(), user);
+    Assertions.assertEquals(1, result.getCount());
+    Assertions.assertEquals(mybatis.getSlug(), result.getHits().get(0).getArticle().getSlug());
+    Assertions.assertTrue(result.getHits().get(0).getSnippet().contains("<mark>mybatis</mark>"));
+
+    Assertions.assertEquals(1, queryService.searchArticles("persist", new Page(), user).getCount());
+    Assertions.assertEquals(0, queryService.searchArticles("\"AND (", new Page(), user).getCount());
+  }
+
+  @Test
+  public void should_escape_article_html_in_search_snippets() {
+    Article script =
+        new Article(
+            "Scripted",
+            "desc",
+            "before <script>alert('xss')</script> payload <img src=x onerror=alert(1)>",
+            Arrays.asList("java"),
+            user.getId());
+    articleRepository.save(script);
+
+    String snippet =
+        queryService.searchArticles("payload", new Page(), user).getHits().get(0).getSnippet();
+    Assertions.assertFalse(snippet.contains("<script>"), snippet);
+    Assertions.assertFalse(snippet.contains("<img"), snippet);
+    Assertions.assertTrue(snippet.contains("&lt;script&gt;"), snippet);
+    Assertions.assertTrue(snippet.contains("<mark>payload</mark>"), snippet);
+  }
+
   @Test
   public void should_get_default_article_list() {
     Article anotherArticle =
@@ -107,6 +257,38 @@ public class ArticleQueryServiceTest extends DbTestBase {
     Assertions.assertEquals(nodata.getArticleDatas().size(), 0);
   }
 
+  @Test
+  public void should_read_all_tags_of_listed_articles() {
+    Article untagged =
+        new Article(
+            "untagged",
+            "desc",
+            "body",
+            Arrays.asList(),
+            user.getId(),
+            new DateTime().minusHours(1));
+    articleRepository.save(untagged);
+    Article commas =
+        new Article(
+            "commas",
+            "desc",
+            "body",
+            Arrays.asList("a, b", "c"),
+            user.getId(),
+            new DateTime().minusHours(2));
+    articleRepository.save(commas);
+
+    ArticleDataList list = queryService.findRecentArticles(null, null, null, new Page(), null);
+    Assertions.assertEquals(3, list.getArticleDatas().size());
+    Assertions.assertEquals(
+        new HashSet<>(Arrays.asList("java", "spring")),
+        new HashSet<>(list.getArticleDatas().get(0).getTagList()));
+    Assertions.assertTrue(list.getArticleDatas().get(1).getTagList().isEmpty());
+    Assertions.assertEquals(
+        new HashSet<>(Arrays.asList("a, b", "c")),
+        new HashSet<>(list.getArticleDatas().get(2).getTagList()));
+  }
+
   @Test
   public void should_get_default_article_list_by_cursor() {
     Article anotherArticle =
@@ -142,6 +324,31 @@ public class ArticleQueryServiceTest extends DbTestBase {
     Assertions.assertEquals(prevArticles.getData().size(), 2);
   }
 
+  @Test
+  public void should_page_articles_with_same_created_at_by_cursor() {
+    DateTime createdAt = new DateTime().minusHours(1);
+    for (int i = 0; i < 3; i++) {
+      articleRepository.save(
+          new Article("tie " + i, "desc", "body", Arrays.asList("tie"), user.getId(), createdAt));
+    }
+
+    Set<String> seen = new HashSet<>();
+    String cursor = null;
+    for (int i = 0; i < 3; i++) {
+      CursorPager<ArticleData> page =
+          queryService.findRecentArticlesWithCursor(
+              "tie",
+              null,
+              null,
+              new CursorPageParameter<>(
+                  DateTimeCursor.parse(cursor), DateTimeCursor.parseId(cursor), 1, Direction.NEXT),
+              user);
+      Assertions.assertEquals(1, page.getData().size());
+      Assertions.assertTrue(seen.add(page.getData().get(0).getId()));
+      cursor = page.getEndCursor().toString();
+    }
+  }
+
   @Test
   public void should_query_article_by_author() {
     User anotherUser = new User("other@email.com", "other", "123", "", "");
@@ -196,6 +403,39 @@ public class ArticleQueryServiceTest extends DbTestBase {
     Assertions.assertEquals(notag.getCount(), 0);
   }
 
+  @Test
+  public void should_combine_tag_author_and_favorite_filters() {
+    User anotherUser = new User("other@email.com", "other", "123", "", "");
+    userRepository.save(anotherUser);
+    Article otherAuthors =
+        new Article(
+            "other article",
+            "desc",
+            "body",
+            Arrays.asList("java"),
+            anotherUser.getId(),
+            new DateTime().plusMinutes(1));
+    articleRepository.save(otherAuthors);
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), anotherUser.getId()));
+    articleFavoriteRepository.save(new ArticleFavorite(otherAuthors.getId(), anotherUser.getId()));
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), user.getId()));
+
+    ArticleDataList filtered =
+        queryService.findRecentArticles(
+            "java", user.getUsername(), anotherUser.getUsername(), new Page(), null);
+    Assertions.assertEquals(1, filtered.getCount());
+    Assertions.assertEquals(article.getId(), filtered.getArticleDatas().get(0).getId());
+
+    ArticleDataList favorited =
+        queryService.findRecentArticles("java", null, anotherUser.getUsername(), new Page(), null);
+    Assertions.assertEquals(2, favorited.getCount());
+    Assertions.assertEquals(otherAuthors.getId(), favorited.getArticleDatas().get(0).getId());
+
+    ArticleDataList unknown =
+        queryService.findRecentArticles(null, null, "nobody", new Page(), null);
+    Assertions.assertEquals(0, unknown.getCount());
+  }
+
   @Test
   public void should_show_following_if_user_followed_author() {
     User anotherUser = new User("other@email.com", "other", "123", "", "");
@@ -227,4 +467,29 @@ public class ArticleQueryServiceTest extends DbTestBase {
     ArticleData articleData = anotherUserFeed.getArticleDatas().get(0);
     Assertions.assertTrue(articleData.getProfileData().isFollowing());
   }
+
+  @Intercepts({
+    @Signature(
+        type = Executor.class,
+        method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+  })
+  static class StatementRecorder implements Interceptor {
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+      statements.add(id.substring(id.lastIndexOf('.', id.lastIndexOf('.') - 1) + 1));
+      return invocation.proceed();
+    }
+
+    void reset() {
+      statements.clear();
+    }
+
+    List<String> snapshot() {
+      return new ArrayList<>(statements);
+    }
+  }
 }
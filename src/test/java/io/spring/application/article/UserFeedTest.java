@@ -0,0 +1,120 @@
+package io.spring.application.article;
+
+import static java.util.stream.Collectors.toList;
+
+import io.spring.application.ArticleContentCache;
+import io.spring.application.ArticleQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.DateTimeCursor;
+import io.spring.application.EnrichmentExecutor;
+import io.spring.application.Page;
+import io.spring.application.data.ArticleData;
+import io.spring.application.data.ArticleDataList;
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.user.FollowRelation;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import io.spring.infrastructure.DbTestBase;
+import io.spring.infrastructure.mybatis.mapper.FeedInboxMapper;
+import io.spring.infrastructure.repository.MyBatisArticleRepository;
+import io.spring.infrastructure.repository.MyBatisUserRepository;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@Import({
+  ArticleQueryService.class,
+  ArticleContentCache.class,
+  EnrichmentExecutor.class,
+  MyBatisUserRepository.class,
+  MyBatisArticleRepository.class
+})
+@TestPropertySource(properties = "feed.fanout-threshold=1")
+public class UserFeedTest extends DbTestBase {
+  @Autowired private ArticleQueryService queryService;
+
+  @Autowired private ArticleRepository articleRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private FeedInboxMapper feedInboxMapper;
+
+  private User reader;
+  private User popular;
+  private User regular;
+
+  @BeforeEach
+  public void setUp() {
+    reader = new User("reader@email.com", "reader", "123", "", "");
+    popular = new User("popular@email.com", "popular", "123", "", "");
+    regular = new User("regular@email.com", "regular", "123", "", "");
+    User another = new User("another@email.com", "another", "123", "", "");
+    for (User user : Arrays.asList(reader, popular, regular, another)) {
+      userRepository.save(user);
+    }
+    userRepository.saveRelation(new FollowRelation(reader.getId(), popular.getId()));
+    userRepository.saveRelation(new FollowRelation(another.getId(), popular.getId()));
+    userRepository.saveRelation(new FollowRelation(reader.getId(), regular.getId()));
+  }
+
+  @Test
+  public void should_merge_inbox_and_pulled_articles() {
+    DateTime now = new DateTime();
+    Article pulled =
+        new Article("pulled", "desc", "body", Arrays.asList(), popular.getId(), now.minusHours(2));
+    Article pushed =
+        new Article("pushed", "desc", "body", Arrays.asList(), regular.getId(), now.minusHours(1));
+    articleRepository.save(pulled);
+    articleRepository.save(pushed);
+
+    Assertions.assertTrue(feedInboxMapper.isPullAuthor(popular.getId()));
+    Assertions.assertFalse(feedInboxMapper.isPullAuthor(regular.getId()));
+
+    ArticleDataList feed = queryService.findUserFeed(reader, new Page());
+    Assertions.assertEquals(2, feed.getCount());
+    Assertions.assertEquals(Arrays.asList(pushed.getId(), pulled.getId()), ids(feed));
+
+    CursorPager<ArticleData> first =
+        queryService.findUserFeedWithCursor(
+            reader, new CursorPageParameter<>(null, 1, Direction.NEXT));
+    Assertions.assertTrue(first.hasNext());
+    Assertions.assertEquals(pushed.getId(), first.getData().get(0).getId());
+    String cursor = first.getEndCursor().toString();
+    CursorPager<ArticleData> second =
+        queryService.findUserFeedWithCursor(
+            reader,
+            new CursorPageParameter<>(
+                DateTimeCursor.parse(cursor), DateTimeCursor.parseId(cursor), 1, Direction.NEXT));
+    Assertions.assertFalse(second.hasNext());
+    Assertions.assertEquals(pulled.getId(), second.getData().get(0).getId());
+  }
+
+  @Test
+  public void should_update_inbox_on_unfollow_and_delete() {
+    Article pushed = new Article("pushed", "desc", "body", Arrays.asList(), regular.getId());
+    articleRepository.save(pushed);
+    Assertions.assertEquals(1, queryService.findUserFeed(reader, new Page()).getCount());
+
+    userRepository.removeRelation(new FollowRelation(reader.getId(), regular.getId()));
+    Assertions.assertEquals(0, queryService.findUserFeed(reader, new Page()).getCount());
+
+    userRepository.saveRelation(new FollowRelation(reader.getId(), regular.getId()));
+    Assertions.assertEquals(1, queryService.findUserFeed(reader, new Page()).getCount());
+
+    articleRepository.remove(pushed);
+    Assertions.assertEquals(0, queryService.findUserFeed(reader, new Page()).getCount());
+  }
+
+  private static List<String> ids(ArticleDataList feed) {
+    return feed.getArticleDatas().stream().map(ArticleData::getId).collect(toList());
+  }
+}
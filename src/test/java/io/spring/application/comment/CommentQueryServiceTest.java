@@ -1,6 +1,10 @@
 package io.spring.application.comment;
 
 import io.spring.application.CommentQueryService;
+import io.spring.application.CursorPageParameter;
+import io.spring.application.CursorPager;
+import io.spring.application.CursorPager.Direction;
+import io.spring.application.DateTimeCursor;
 import io.spring.application.data.CommentData;
 import io.spring.core.article.Article;
 import io.spring.core.article.ArticleRepository;
@@ -70,7 +74,81 @@ public class CommentQueryServiceTest extends DbTestBase {
     Comment comment2 = new Comment("content2", user2.getId(), article.getId());
     commentRepository.save(comment2);
 
-    List<CommentData> comments = commentQueryService.findByArticleId(article.getId(), user);
+    List<CommentData> comments =
+        commentQueryService
+            .findByArticleIdWithCursor(
+                article.getId(), user, new CursorPageParameter<>(null, 20, Direction.NEXT))
+            .getData();
     Assertions.assertEquals(comments.size(), 2);
+    Assertions.assertTrue(
+        comments.stream()
+            .filter(comment -> comment.getProfileData().getId().equals(user2.getId()))
+            .allMatch(comment -> comment.getProfileData().isFollowing()));
+  }
+
+  @Test
+  public void should_page_comments_of_article_by_cursor() {
+    Article article = new Article("title", "desc", "body", Arrays.asList("java"), user.getId());
+    articleRepository.save(article);
+    for (int i = 0; i < 3; i++) {
+      commentRepository.save(new Comment("content" + i, user.getId(), article.getId()));
+    }
+
+    CursorPager<CommentData> first =
+        commentQueryService.findByArticleIdWithCursor(
+            article.getId(), user, new CursorPageParameter<>(null, 2, Direction.NEXT));
+    Assertions.assertEquals(2, first.getData().size());
+    Assertions.assertTrue(first.hasNext());
+
+    String cursor = first.getEndCursor().toString();
+    CursorPager<CommentData> second =
+        commentQueryService.findByArticleIdWithCursor(
+            article.getId(),
+            user,
+            new CursorPageParameter<>(
+                DateTimeCursor.parse(cursor), DateTimeCursor.parseId(cursor), 2, Direction.NEXT));
+    Assertions.assertEquals(1, second.getData().size());
+    Assertions.assertFalse(second.hasNext());
+  }
+
+  @Test
+  public void should_change_comments_etag_on_new_comment_and_follow() {
+    Article article = new Article("title", "desc", "body", Arrays.asList("java"), user.getId());
+    articleRepository.save(article);
+    User user2 = new User("user2@email.com", "user2", "123", "", "");
+    userRepository.save(user2);
+    commentRepository.save(new Comment("content1", user2.getId(), article.getId()));
+
+    String initial = commentQueryService.findETagByArticleSlug(article.getSlug(), user).get();
+
+    userRepository.saveRelation(new FollowRelation(user.getId(), user2.getId()));
+    String followed = commentQueryService.findETagByArticleSlug(article.getSlug(), user).get();
+    Assertions.assertNotEquals(initial, followed);
+
+    commentRepository.save(new Comment("content2", user.getId(), article.getId()));
+    String commented = commentQueryService.findETagByArticleSlug(article.getSlug(), user).get();
+    Assertions.assertNotEquals(followed, commented);
+
+    user2.update("", "", "", "new bio", "");
+    userRepository.save(user2);
+    Assertions.assertNotEquals(
+        commented, commentQueryService.findETagByArticleSlug(article.getSlug(), user).get());
+  }
+
+  @Test
+  public void should_keep_comments_etag_on_unrelated_profile_and_follow_changes() {
+    Article article = new Article("title", "desc", "body", Arrays.asList("java"), user.getId());
+    articleRepository.save(article);
+    commentRepository.save(new Comment("content1", user.getId(), article.getId()));
+    User other = new User("other@email.com", "other", "123", "", "");
+    userRepository.save(other);
+
+    String initial = commentQueryService.findETagByArticleSlug(article.getSlug(), user).get();
+
+    other.update("", "", "", "new bio", "");
+    userRepository.save(other);
+    userRepository.saveRelation(new FollowRelation(other.getId(), user.getId()));
+    Assertions.assertEquals(
+        initial, commentQueryService.findETagByArticleSlug(article.getSlug(), user).get());
   }
 }
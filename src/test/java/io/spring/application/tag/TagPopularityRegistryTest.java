@@ -0,0 +1,84 @@
+package io.spring.application.tag;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.TagPopularityRegistry;
+import io.spring.application.article.TagUsageChangedEvent;
+import io.spring.application.data.TagCount;
+import io.spring.infrastructure.mybatis.readservice.TagReadService;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TagPopularityRegistryTest {
+  private TagReadService tagReadService;
+  private TagPopularityRegistry registry;
+
+  @BeforeEach
+  public void setUp() {
+    tagReadService = mock(TagReadService.class);
+    when(tagReadService.usage())
+        .thenReturn(Arrays.asList(new TagCount("java", 2), new TagCount("spring", 1)));
+    registry = new TagPopularityRegistry(tagReadService, 600);
+  }
+
+  @Test
+  public void should_load_once_and_apply_changes_in_memory() {
+    Assertions.assertEquals(Arrays.asList("java", "spring"), registry.snapshot().top(10));
+
+    registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("spring", "go"), 1));
+    registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("spring"), 1));
+
+    TagPopularityRegistry.Snapshot snapshot = registry.snapshot();
+    Assertions.assertEquals(Arrays.asList("spring", "java"), snapshot.top(2));
+    Assertions.assertEquals(1, snapshot.count("go"));
+    verify(tagReadService, times(1)).usage();
+  }
+
+  @Test
+  public void should_keep_unused_tags() {
+    registry.snapshot();
+    registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("spring"), -1));
+    registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("spring"), -1));
+
+    Assertions.assertEquals(Arrays.asList("java", "spring"), registry.snapshot().top(10));
+    Assertions.assertEquals(0, registry.snapshot().count("spring"));
+  }
+
+  @Test
+  public void should_reload_instead_of_applying_change_a_newer_load_may_include() {
+    registry.snapshot();
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("spring"), 1));
+      when(tagReadService.usage())
+          .thenReturn(Arrays.asList(new TagCount("java", 2), new TagCount("spring", 2)));
+      registry.onEntityChanged(new EntityChangedEvent(Entity.TAG, "article", true));
+      registry.snapshot();
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    Assertions.assertEquals(2, registry.snapshot().count("spring"));
+    verify(tagReadService, times(3)).usage();
+  }
+
+  @Test
+  public void should_move_last_modified_on_change() throws Exception {
+    long loaded = registry.snapshot().getLastModified();
+    Thread.sleep(5);
+    registry.onTagUsageChanged(new TagUsageChangedEvent(Arrays.asList("java"), 1));
+
+    Assertions.assertTrue(registry.snapshot().getLastModified() > loaded);
+  }
+}
@@ -1,6 +1,8 @@
 package io.spring.application.tag;
 
+import io.spring.application.TagPopularityRegistry;
 import io.spring.application.TagsQueryService;
+import io.spring.application.data.PopularTags;
 import io.spring.core.article.Article;
 import io.spring.core.article.ArticleRepository;
 import io.spring.infrastructure.DbTestBase;
@@ -11,7 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
-@Import({TagsQueryService.class, MyBatisArticleRepository.class})
+@Import({TagsQueryService.class, TagPopularityRegistry.class, MyBatisArticleRepository.class})
 public class TagsQueryServiceTest extends DbTestBase {
   @Autowired private TagsQueryService tagsQueryService;
 
@@ -22,4 +24,25 @@ public class TagsQueryServiceTest extends DbTestBase {
     articleRepository.save(new Article("test", "test", "test", Arrays.asList("java"), "123"));
     Assertions.assertTrue(tagsQueryService.allTags().contains("java"));
   }
+
+  @Test
+  public void should_keep_tags_of_removed_articles() {
+    Article article = new Article("test", "test", "test", Arrays.asList("lonely"), "123");
+    articleRepository.save(article);
+    articleRepository.remove(article);
+
+    Assertions.assertTrue(tagsQueryService.allTags().contains("lonely"));
+  }
+
+  @Test
+  public void should_rank_tags_by_usage() {
+    articleRepository.save(
+        new Article("one", "test", "test", Arrays.asList("java", "spring"), "123"));
+    articleRepository.save(new Article("two", "test", "test", Arrays.asList("java"), "123"));
+
+    PopularTags popularTags = tagsQueryService.popularTags(1);
+    Assertions.assertEquals(Arrays.asList("java"), popularTags.getTags());
+    Assertions.assertNotNull(popularTags.getEtag());
+    Assertions.assertEquals(Arrays.asList("java", "spring"), tagsQueryService.allTags());
+  }
 }
@@ -0,0 +1,129 @@
+package io.spring.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.netflix.graphql.dgs.DgsQueryExecutor;
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+public class ProfileLoaderTest {
+  private static final String QUERY =
+      "{ articles(first: %d, withTag: \"dataloader\") "
+          + "{ edges { node { slug author { username following } } } } }";
+
+  @Autowired private DgsQueryExecutor dgsQueryExecutor;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private ArticleRepository articleRepository;
+
+  @Autowired private StatementRecorder statementRecorder;
+
+  @BeforeEach
+  public void setUp() {
+    User viewer = new User("viewer@test.com", "viewer", "123", "", "");
+    userRepository.save(viewer);
+    for (int i = 0; i < 3; i++) {
+      User author = new User("author" + i + "@test.com", "author" + i, "123", "", "");
+      userRepository.save(author);
+      articleRepository.save(
+          new Article(
+              "title " + i, "desc", "body", Arrays.asList("dataloader"), author.getId()));
+    }
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(viewer, null, Collections.emptyList()));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void should_resolve_authors_with_constant_number_of_statements() {
+    List<String> single = execute(1);
+    List<String> singleStatements = statementRecorder.snapshot();
+    List<String> many = execute(3);
+    List<String> manyStatements = statementRecorder.snapshot();
+
+    assertEquals(1, single.size());
+    assertEquals(3, many.size());
+    assertEquals(singleStatements.size(), manyStatements.size());
+    assertEquals(1, count(manyStatements, "UserReadService.findByUsernames"));
+    assertEquals(0, count(manyStatements, "UserReadService.findByUsername"));
+  }
+
+  private List<String> execute(int first) {
+    statementRecorder.reset();
+    return dgsQueryExecutor.executeAndExtractJsonPath(
+        String.format(QUERY, first), "data.articles.edges[*].node.author.username");
+  }
+
+  private static long count(List<String> statements, String suffix) {
+    return statements.stream().filter(id -> id.endsWith("." + suffix)).count();
+  }
+
+  @TestConfiguration
+  static class StatementRecorderConfig {
+    @Bean
+    public StatementRecorder statementRecorder() {
+      return new StatementRecorder();
+    }
+  }
+
+  @Intercepts({
+    @Signature(
+        type = Executor.class,
+        method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+  })
+  static class StatementRecorder implements Interceptor {
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+      statements.add(statement.getId());
+      return invocation.proceed();
+    }
+
+    void reset() {
+      statements.clear();
+    }
+
+    List<String> snapshot() {
+      return new ArrayList<>(statements);
+    }
+  }
+}
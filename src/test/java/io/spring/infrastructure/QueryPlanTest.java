@@ -0,0 +1,161 @@
+package io.spring.infrastructure;
+
+import io.spring.application.CursorPager.Direction;
+import io.spring.core.article.Article;
+import io.spring.core.comment.Comment;
+import io.spring.core.favorite.ArticleFavorite;
+import io.spring.core.user.FollowRelation;
+import io.spring.core.user.User;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Runs {@code EXPLAIN QUERY PLAN} for every mapped statement and fails when one reads a whole table
+ * instead of searching an index. Statements are bound twice, with every optional filter set and
+ * with none, so both sides of the dynamic SQL are covered. Only the bulk maintenance statements,
+ * which are meant to touch every row, are allowed to scan.
+ */
+public class QueryPlanTest extends DbTestBase {
+  private static final Pattern FULL_SCAN = Pattern.compile("^SCAN (TABLE )?\\w+( AS \\w+)?$");
+
+  private static final Set<String> FULL_SCAN_ALLOWED =
+      new LinkedHashSet<>(
+          Arrays.asList(
+              "TagReadService.usage",
+              "UserMapper.findAllRelations",
+              "ArticleSummaryMapper.deleteAll",
+              "ArticleSummaryMapper.deleteAllTags",
+              "ArticleSummaryMapper.rebuildAll",
+              "ArticleSummaryMapper.rebuildAllTags",
+              "ArticleSummaryMapper.reconcileFavoritesCount"));
+
+  @Autowired private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired private DataSource dataSource;
+
+  @Test
+  public void should_not_full_scan_tables_in_mapped_statements() throws SQLException {
+    List<String> violations = new ArrayList<>();
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    for (MappedStatement statement : mappedStatements()) {
+      if (FULL_SCAN_ALLOWED.contains(shortId(statement))) {
+        continue;
+      }
+      for (Map<String, Object> parameter : Arrays.asList(parameter(true), parameter(false))) {
+        for (String detail : explain(connection, statement, parameter)) {
+          if (FULL_SCAN.matcher(detail).matches() || detail.contains("AUTOMATIC")) {
+            violations.add(statement.getId() + ": " + detail);
+          }
+        }
+      }
+    }
+    Assertions.assertTrue(violations.isEmpty(), String.join("\n", violations));
+  }
+
+  private static String shortId(MappedStatement statement) {
+    String id = statement.getId();
+    return id.substring(id.lastIndexOf('.', id.lastIndexOf('.') - 1) + 1);
+  }
+
+  private List<MappedStatement> mappedStatements() {
+    Map<String, MappedStatement> statements = new HashMap<>();
+    for (Object item : sqlSessionFactory.getConfiguration().getMappedStatements()) {
+      if (item instanceof MappedStatement) {
+        MappedStatement statement = (MappedStatement) item;
+        if (statement.getId().startsWith("io.spring.") && !statement.getId().contains("!")) {
+          statements.put(statement.getId(), statement);
+        }
+      }
+    }
+    return new ArrayList<>(statements.values());
+  }
+
+  private List<String> explain(
+      Connection connection, MappedStatement statement, Map<String, Object> parameter)
+      throws SQLException {
+    BoundSql boundSql = statement.getBoundSql(parameter);
+    List<String> details = new ArrayList<>();
+    if (statement.getSqlCommandType() == SqlCommandType.INSERT
+        && !boundSql.getSql().toLowerCase().contains("select")) {
+      return details;
+    }
+    try (PreparedStatement ps =
+        connection.prepareStatement("EXPLAIN QUERY PLAN " + boundSql.getSql())) {
+      new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          details.add(rs.getString("detail"));
+        }
+      }
+    }
+    return details;
+  }
+
+  private static Map<String, Object> parameter(boolean filtered) {
+    User user = new User("aisensiy@gmail.com", "aisensiy", "123", "bio", "default");
+    Article article = new Article("test", "desc", "body", Arrays.asList("java"), user.getId());
+    List<String> ids = Arrays.asList(article.getId(), "another");
+
+    Map<String, Object> page = new HashMap<>();
+    page.put("offset", 0);
+    page.put("limit", 20);
+    page.put("queryLimit", 21);
+    page.put("direction", Direction.NEXT);
+    page.put("cursor", filtered ? new DateTime() : null);
+    page.put("cursorId", filtered ? article.getId() : null);
+
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("page", page);
+    parameter.put("id", article.getId());
+    parameter.put("slug", article.getSlug());
+    parameter.put("articleId", article.getId());
+    parameter.put("userId", user.getId());
+    parameter.put("viewerId", filtered ? user.getId() : null);
+    parameter.put("anotherUserId", "another");
+    parameter.put("targetId", "another");
+    parameter.put("tagId", "tag");
+    parameter.put("tagName", "java");
+    parameter.put("query", "\"java\"");
+    parameter.put("tagNames", Arrays.asList("java", "spring"));
+    parameter.put("tags", article.getTags());
+    parameter.put("tagIds", Arrays.asList("tag", "another"));
+    parameter.put("username", user.getUsername());
+    parameter.put("email", user.getEmail());
+    parameter.put("tag", filtered ? "java" : null);
+    parameter.put("author", filtered ? user.getUsername() : null);
+    parameter.put("favoritedBy", filtered ? user.getUsername() : null);
+    parameter.put("ids", ids);
+    parameter.put("articleIds", ids);
+    parameter.put("authors", ids);
+    parameter.put("usernames", Arrays.asList(user.getUsername(), "another"));
+    parameter.put("user", user);
+    parameter.put("currentUser", user);
+    parameter.put("article", article);
+    parameter.put("comment", new Comment("body", user.getId(), article.getId()));
+    parameter.put("articleFavorite", new ArticleFavorite(article.getId(), user.getId()));
+    parameter.put("favorite", new ArticleFavorite(article.getId(), user.getId()));
+    parameter.put("followRelation", new FollowRelation(user.getId(), "another"));
+    return parameter;
+  }
+}
@@ -0,0 +1,81 @@
+package io.spring.infrastructure.article;
+
+import io.spring.application.Page;
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.favorite.ArticleFavorite;
+import io.spring.core.favorite.ArticleFavoriteRepository;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import io.spring.infrastructure.DbTestBase;
+import io.spring.infrastructure.job.ArticleSummaryRebuildJob;
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import io.spring.infrastructure.mybatis.readservice.ArticleReadService;
+import io.spring.infrastructure.repository.MyBatisArticleFavoriteRepository;
+import io.spring.infrastructure.repository.MyBatisArticleRepository;
+import io.spring.infrastructure.repository.MyBatisUserRepository;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+@Import({
+  ArticleSummaryRebuildJob.class,
+  MyBatisArticleRepository.class,
+  MyBatisUserRepository.class,
+  MyBatisArticleFavoriteRepository.class
+})
+public class ArticleSummaryRebuildJobTest extends DbTestBase {
+  @Autowired private ArticleSummaryRebuildJob articleSummaryRebuildJob;
+
+  @Autowired private ArticleSummaryMapper articleSummaryMapper;
+
+  @Autowired private ArticleReadService articleReadService;
+
+  @Autowired private ArticleRepository articleRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private ArticleFavoriteRepository articleFavoriteRepository;
+
+  private User user;
+  private Article article;
+
+  @BeforeEach
+  public void setUp() {
+    user = new User("aisensiy@gmail.com", "aisensiy", "123", "bio", "default");
+    userRepository.save(user);
+    article = new Article("test", "desc", "body", Arrays.asList("java", "spring"), user.getId());
+    articleRepository.save(article);
+  }
+
+  @Test
+  public void should_keep_summary_in_sync_with_writes() {
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), user.getId()));
+    Assertions.assertEquals(1, articleReadService.countArticle(null, null, user.getUsername()));
+
+    user.update("", "renamed", "", "", "");
+    userRepository.save(user);
+    Assertions.assertEquals(1, articleReadService.countArticle(null, "renamed", null));
+    Assertions.assertEquals(0, articleReadService.countArticle(null, "aisensiy", null));
+
+    articleRepository.remove(article);
+    Assertions.assertEquals(0, articleReadService.countArticle(null, null, null));
+  }
+
+  @Test
+  public void should_rebuild_summary_from_base_tables() {
+    articleSummaryMapper.deleteAllTags();
+    articleSummaryMapper.deleteAll();
+    Assertions.assertEquals(0, articleReadService.countArticle(null, null, null));
+
+    articleSummaryRebuildJob.rebuild();
+
+    Assertions.assertEquals(1, articleReadService.countArticle(null, null, null));
+    List<String> ids = articleReadService.queryArticles("java", user.getUsername(), null, new Page());
+    Assertions.assertEquals(Arrays.asList(article.getId()), ids);
+  }
+}
@@ -6,6 +6,7 @@ import io.spring.core.article.Tag;
 import io.spring.core.user.User;
 import io.spring.core.user.UserRepository;
 import io.spring.infrastructure.DbTestBase;
+import io.spring.infrastructure.mybatis.mapper.ArticleMapper;
 import io.spring.infrastructure.repository.MyBatisArticleRepository;
 import io.spring.infrastructure.repository.MyBatisUserRepository;
 import java.util.Arrays;
@@ -22,6 +23,8 @@ public class MyBatisArticleRepositoryTest extends DbTestBase {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private ArticleMapper articleMapper;
+
   private Article article;
 
   @BeforeEach
@@ -41,6 +44,22 @@ public class MyBatisArticleRepositoryTest extends DbTestBase {
     Assertions.assertTrue(optional.get().getTags().contains(new Tag("spring")));
   }
 
+  @Test
+  public void should_create_article_reusing_existing_tags() {
+    articleRepository.create(article);
+    Article another =
+        new Article("another", "desc", "body", Arrays.asList("java", "go"), article.getUserId());
+    articleRepository.create(another);
+
+    Tag java = articleMapper.findTag("java");
+    Assertions.assertEquals(
+        3, articleMapper.findTagsByNames(Arrays.asList("java", "spring", "go")).size());
+    Article fetched = articleRepository.findById(another.getId()).get();
+    Assertions.assertEquals(2, fetched.getTags().size());
+    Assertions.assertTrue(
+        fetched.getTags().stream().anyMatch(tag -> tag.getId().equals(java.getId())));
+  }
+
   @Test
   public void should_update_and_fetch_article_success() {
     articleRepository.save(article);
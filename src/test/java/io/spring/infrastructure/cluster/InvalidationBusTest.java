@@ -0,0 +1,80 @@
+package io.spring.infrastructure.cluster;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class InvalidationBusTest {
+  private LocalInvalidationTransport senderTransport;
+  private LocalInvalidationTransport receiverTransport;
+  private ApplicationEventPublisher senderPublisher;
+  private ApplicationEventPublisher receiverPublisher;
+  private SimpleMeterRegistry receiverMeters;
+  private InvalidationBus sender;
+  private InvalidationBus receiver;
+
+  @BeforeEach
+  public void setUp() {
+    senderTransport = new LocalInvalidationTransport();
+    receiverTransport = new LocalInvalidationTransport();
+    senderPublisher = mock(ApplicationEventPublisher.class);
+    receiverPublisher = mock(ApplicationEventPublisher.class);
+    receiverMeters = new SimpleMeterRegistry();
+    sender = new InvalidationBus(senderTransport, senderPublisher, new SimpleMeterRegistry());
+    receiver = new InvalidationBus(receiverTransport, receiverPublisher, receiverMeters);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    senderTransport.close();
+    receiverTransport.close();
+  }
+
+  @Test
+  public void should_republish_changes_of_other_nodes_as_remote() {
+    sender.onEntityChanged(new EntityChangedEvent(Entity.ARTICLE, "article-id"));
+
+    verify(receiverPublisher)
+        .publishEvent(
+            argThat(
+                (Object event) ->
+                    event instanceof EntityChangedEvent
+                        && ((EntityChangedEvent) event).isRemote()
+                        && ((EntityChangedEvent) event).getEntity() == Entity.ARTICLE
+                        && ((EntityChangedEvent) event).getId().equals("article-id")));
+    verify(senderPublisher, never()).publishEvent(any(Object.class));
+    Assertions.assertEquals(1, receiverMeters.get(InvalidationBus.LAG).timer().count());
+    Assertions.assertEquals(1, messages("received"));
+  }
+
+  @Test
+  public void should_not_forward_remote_changes_again() {
+    sender.onEntityChanged(new EntityChangedEvent(Entity.USER, "user-id", true));
+
+    verify(receiverPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  public void should_count_malformed_messages() {
+    receiver.receive("v0|garbage".getBytes(StandardCharsets.UTF_8));
+
+    verify(receiverPublisher, never()).publishEvent(any(Object.class));
+    Assertions.assertEquals(1, messages("failed"));
+  }
+
+  private double messages(String outcome) {
+    return receiverMeters.get(InvalidationBus.MESSAGES).tag("outcome", outcome).counter().count();
+  }
+}
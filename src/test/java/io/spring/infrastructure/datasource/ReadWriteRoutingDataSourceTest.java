@@ -0,0 +1,141 @@
+package io.spring.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.infrastructure.datasource.ReadWriteRoutingDataSource.Reason;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReadWriteRoutingDataSourceTest {
+  @TempDir Path dir;
+
+  private HikariDataSource writer;
+  private HikariDataSource readers;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate writeTransaction;
+  private TransactionTemplate readTransaction;
+
+  @BeforeEach
+  public void setUp() {
+    SqliteDataSourceFactory factory =
+        new SqliteDataSourceFactory("jdbc:sqlite:" + dir.resolve("test.db"), -2000, 0, 1000);
+    writer = factory.writer();
+    readers = factory.readers(2);
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writer, readers));
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    writeTransaction = new TransactionTemplate(transactionManager);
+    readTransaction = new TransactionTemplate(transactionManager);
+    readTransaction.setReadOnly(true);
+
+    jdbcTemplate.execute("create table counter (value integer)");
+    jdbcTemplate.update("insert into counter (value) values (0)");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    readers.close();
+    writer.close();
+  }
+
+  @Test
+  public void should_route_read_only_transactions_to_readers() {
+    Assertions.assertEquals(0, readCounter());
+    Assertions.assertThrows(
+        DataAccessException.class,
+        () ->
+            readTransaction.executeWithoutResult(
+                status -> jdbcTemplate.update("update counter set value = 1")));
+  }
+
+  @Test
+  public void should_not_block_readers_during_write() throws Exception {
+    CountDownLatch written = new CountDownLatch(1);
+    CountDownLatch read = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> write =
+          executor.submit(
+              () ->
+                  writeTransaction.executeWithoutResult(
+                      status -> {
+                        jdbcTemplate.update("update counter set value = 1");
+                        written.countDown();
+                        await(read);
+                      }));
+      Assertions.assertTrue(written.await(5, TimeUnit.SECONDS));
+
+      // The write transaction is still open: readers see the last committed value without waiting
+      Assertions.assertEquals(0, readCounter());
+      read.countDown();
+      write.get(5, TimeUnit.SECONDS);
+
+      Assertions.assertEquals(1, readCounter());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void should_route_read_services_and_recent_writers() throws Exception {
+    ReadYourWritesWindow window = new ReadYourWritesWindow(Duration.ofMinutes(1), 100);
+    AtomicReference<String> user = new AtomicReference<>("reader");
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    ReadWriteRoutingDataSource routing =
+        new ReadWriteRoutingDataSource(writer, readers, window, user::get, () -> meters);
+
+    Assertions.assertEquals(Reason.WRITE, routing.reason());
+    boolean outer = ReadWriteRoutingDataSource.beginReadService();
+    try {
+      Assertions.assertEquals(Reason.READ_SERVICE, routing.reason());
+      // Inside a write transaction read services keep using the transaction's connection
+      Assertions.assertEquals(Reason.WRITE, writeTransaction.execute(status -> routing.reason()));
+    } finally {
+      ReadWriteRoutingDataSource.endReadService(outer);
+    }
+    Assertions.assertEquals(
+        Reason.READ_ONLY_TRANSACTION, readTransaction.execute(status -> routing.reason()));
+
+    window.recordWrite("writer");
+    user.set("writer");
+    Assertions.assertEquals(
+        Reason.READ_YOUR_WRITES, readTransaction.execute(status -> routing.reason()));
+
+    try (Connection connection = routing.getConnection()) {
+      Assertions.assertFalse(connection.isReadOnly());
+    }
+    Assertions.assertEquals(
+        1, meters.get(ReadWriteRoutingDataSource.TIMER).tag("reason", "write").timer().count());
+  }
+
+  private int readCounter() {
+    return readTransaction.execute(
+        status -> jdbcTemplate.queryForObject("select value from counter", Integer.class));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
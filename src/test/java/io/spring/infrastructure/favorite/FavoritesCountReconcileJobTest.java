@@ -0,0 +1,84 @@
+package io.spring.infrastructure.favorite;
+
+import io.spring.core.article.Article;
+import io.spring.core.article.ArticleRepository;
+import io.spring.core.favorite.ArticleFavorite;
+import io.spring.core.favorite.ArticleFavoriteRepository;
+import io.spring.core.user.User;
+import io.spring.core.user.UserRepository;
+import io.spring.infrastructure.DbTestBase;
+import io.spring.infrastructure.job.FavoritesCountReconcileJob;
+import io.spring.infrastructure.mybatis.mapper.ArticleSummaryMapper;
+import io.spring.infrastructure.mybatis.readservice.ArticleFavoritesReadService;
+import io.spring.infrastructure.repository.MyBatisArticleFavoriteRepository;
+import io.spring.infrastructure.repository.MyBatisArticleRepository;
+import io.spring.infrastructure.repository.MyBatisUserRepository;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+@Import({
+  FavoritesCountReconcileJob.class,
+  MyBatisArticleRepository.class,
+  MyBatisUserRepository.class,
+  MyBatisArticleFavoriteRepository.class
+})
+public class FavoritesCountReconcileJobTest extends DbTestBase {
+  @Autowired private FavoritesCountReconcileJob favoritesCountReconcileJob;
+
+  @Autowired private ArticleSummaryMapper articleSummaryMapper;
+
+  @Autowired private ArticleFavoritesReadService articleFavoritesReadService;
+
+  @Autowired private ArticleRepository articleRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private ArticleFavoriteRepository articleFavoriteRepository;
+
+  private User user;
+  private Article article;
+
+  @BeforeEach
+  public void setUp() {
+    user = new User("aisensiy@gmail.com", "aisensiy", "123", "bio", "default");
+    userRepository.save(user);
+    article = new Article("test", "desc", "body", Arrays.asList("java"), user.getId());
+    articleRepository.save(article);
+  }
+
+  @Test
+  public void should_maintain_counter_on_favorite_and_unfavorite() {
+    ArticleFavorite favorite = new ArticleFavorite(article.getId(), user.getId());
+    articleFavoriteRepository.save(favorite);
+    articleFavoriteRepository.save(favorite);
+    Assertions.assertEquals(1, articleFavoritesReadService.articleFavoriteCount(article.getId()));
+
+    articleFavoriteRepository.remove(favorite);
+    articleFavoriteRepository.remove(favorite);
+    Assertions.assertEquals(0, articleFavoritesReadService.articleFavoriteCount(article.getId()));
+  }
+
+  @Test
+  public void should_repair_drifted_counter() {
+    articleFavoriteRepository.save(new ArticleFavorite(article.getId(), user.getId()));
+    articleSummaryMapper.incrementFavoritesCount(article.getId());
+    articleSummaryMapper.incrementFavoritesCount(article.getId());
+    Assertions.assertEquals(3, articleFavoritesReadService.articleFavoriteCount(article.getId()));
+
+    Assertions.assertEquals(1, favoritesCountReconcileJob.reconcile());
+
+    Assertions.assertEquals(1, articleFavoritesReadService.articleFavoriteCount(article.getId()));
+    Assertions.assertEquals(
+        1,
+        articleFavoritesReadService
+            .articlesFavoriteCount(Arrays.asList(article.getId()))
+            .get(0)
+            .getCount()
+            .intValue());
+    Assertions.assertEquals(0, favoritesCountReconcileJob.reconcile());
+  }
+}
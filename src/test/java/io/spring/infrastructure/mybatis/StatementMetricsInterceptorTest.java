@@ -0,0 +1,83 @@
+package io.spring.infrastructure.mybatis;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StatementMetricsInterceptorTest {
+  private static final String STATEMENT_ID =
+      "io.spring.infrastructure.mybatis.readservice.TagReadService.usage";
+
+  private SimpleMeterRegistry meterRegistry;
+  private Executor executor;
+  private MappedStatement statement;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = mock(Executor.class);
+    when(executor.query(any(), any(), any(), any())).thenReturn(Arrays.asList("a", "b", "c"));
+    Configuration configuration = new Configuration();
+    statement =
+        new MappedStatement.Builder(
+                configuration,
+                STATEMENT_ID,
+                new StaticSqlSource(configuration, "select 1"),
+                SqlCommandType.SELECT)
+            .build();
+  }
+
+  @Test
+  public void should_record_time_and_rows_per_statement() throws Throwable {
+    StatementMetricsInterceptor interceptor =
+        new StatementMetricsInterceptor(meterRegistry, Duration.ZERO);
+
+    interceptor.intercept(query());
+    interceptor.intercept(query());
+
+    Timer timer =
+        meterRegistry
+            .get(StatementMetricsInterceptor.TIMER)
+            .tag("statement", "TagReadService.usage")
+            .timer();
+    DistributionSummary rows =
+        meterRegistry
+            .get(StatementMetricsInterceptor.ROWS)
+            .tag("statement", "TagReadService.usage")
+            .summary();
+    Assertions.assertEquals(2, timer.count());
+    Assertions.assertEquals(6, rows.totalAmount());
+  }
+
+  @Test
+  public void should_shorten_statement_id() {
+    Assertions.assertEquals(
+        "TagReadService.usage", StatementMetricsInterceptor.shortId(STATEMENT_ID));
+    Assertions.assertEquals("usage", StatementMetricsInterceptor.shortId("usage"));
+  }
+
+  private Invocation query() throws NoSuchMethodException {
+    return new Invocation(
+        executor,
+        Executor.class.getMethod(
+            "query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+        new Object[] {statement, null, RowBounds.DEFAULT, null});
+  }
+}
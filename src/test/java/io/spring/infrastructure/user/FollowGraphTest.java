@@ -0,0 +1,99 @@
+package io.spring.infrastructure.user;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.spring.application.EntityChangedEvent;
+import io.spring.application.EntityChangedEvent.Entity;
+import io.spring.application.user.FollowRelationChangedEvent;
+import io.spring.core.user.FollowRelation;
+import io.spring.infrastructure.mybatis.mapper.UserMapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FollowGraphTest {
+  private UserMapper userMapper;
+  private FollowGraph graph;
+
+  @BeforeEach
+  public void setUp() {
+    userMapper = mock(UserMapper.class);
+    when(userMapper.findAllRelations())
+        .thenReturn(
+            Arrays.asList(
+                new FollowRelation("a", "b"),
+                new FollowRelation("a", "c"),
+                new FollowRelation("a", "b"),
+                new FollowRelation("c", "b")));
+    graph = new FollowGraph(userMapper);
+  }
+
+  @Test
+  public void should_answer_from_loaded_relations() {
+    Assertions.assertTrue(graph.isUserFollowing("a", "b"));
+    Assertions.assertFalse(graph.isUserFollowing("b", "a"));
+    Assertions.assertFalse(graph.isUserFollowing("a", "unknown"));
+    Assertions.assertEquals(
+        new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(graph.followedUsers("a")));
+    Assertions.assertEquals(
+        Collections.singleton("c"), graph.followingAuthors("a", Arrays.asList("c", "d")));
+    Assertions.assertEquals(
+        new HashSet<>(Arrays.asList("a", "c")), new HashSet<>(graph.followers("b")));
+    verify(userMapper, times(1)).findAllRelations();
+  }
+
+  @Test
+  public void should_apply_relation_changes_in_memory() {
+    graph.warmUp();
+
+    graph.onFollowRelationChanged(
+        new FollowRelationChangedEvent(new FollowRelation("b", "new"), true));
+    graph.onFollowRelationChanged(
+        new FollowRelationChangedEvent(new FollowRelation("a", "b"), false));
+
+    Assertions.assertTrue(graph.isUserFollowing("b", "new"));
+    Assertions.assertEquals(Arrays.asList("b"), graph.followers("new"));
+    Assertions.assertFalse(graph.isUserFollowing("a", "b"));
+    Assertions.assertEquals(Arrays.asList("c"), graph.followers("b"));
+    verify(userMapper, times(1)).findAllRelations();
+  }
+
+  @Test
+  public void should_reread_follower_on_remote_follow_change() {
+    graph.warmUp();
+    when(userMapper.findFollowedIds("a")).thenReturn(Arrays.asList("c", "d"));
+
+    graph.onEntityChanged(new EntityChangedEvent(Entity.FOLLOW, "a", true));
+
+    Assertions.assertFalse(graph.isUserFollowing("a", "b"));
+    Assertions.assertTrue(graph.isUserFollowing("a", "d"));
+    Assertions.assertEquals(Arrays.asList("c"), graph.followers("b"));
+    Assertions.assertEquals(Arrays.asList("a"), graph.followers("d"));
+  }
+
+  @Test
+  public void should_keep_changes_made_while_reloading() {
+    graph.warmUp();
+    when(userMapper.findAllRelations())
+        .thenAnswer(
+            invocation -> {
+              Assertions.assertTrue(graph.isUserFollowing("a", "b"));
+              graph.onFollowRelationChanged(
+                  new FollowRelationChangedEvent(new FollowRelation("d", "a"), true));
+              return Arrays.asList(new FollowRelation("a", "b"), new FollowRelation("c", "d"));
+            });
+
+    graph.reload();
+
+    Assertions.assertTrue(graph.isUserFollowing("c", "d"));
+    Assertions.assertTrue(graph.isUserFollowing("d", "a"));
+    Assertions.assertFalse(graph.isUserFollowing("a", "c"));
+    verify(userMapper, times(2)).findAllRelations();
+  }
+}